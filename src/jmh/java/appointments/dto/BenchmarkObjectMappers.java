@@ -0,0 +1,41 @@
+package appointments.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+/**
+ * ObjectMapper-ы для бенчмарков сериализации ответов API.
+ *
+ * @author yanchenko_evgeniya
+ */
+final class BenchmarkObjectMappers {
+
+    private BenchmarkObjectMappers() {
+    }
+
+    /** ObjectMapper приложения: создается автоконфигурацией Spring Boot с настройками spring.jackson
+     * из application.yml, так же как для контроллеров */
+    static ObjectMapper applicationObjectMapper() {
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run()) {
+
+            return context.getBean(ObjectMapper.class);
+        }
+    }
+
+    /** Копия ObjectMapper-а приложения с модулем Afterburner, который заменяет доступ к свойствам
+     * через отражение сгенерированным байт-кодом */
+    static ObjectMapper afterburnerObjectMapper(final ObjectMapper objectMapper) {
+        return objectMapper.copy().registerModule(new AfterburnerModule());
+    }
+}
@@ -0,0 +1,182 @@
+package appointments.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+
+/**
+ * Бенчмарк сериализации списка записей на прием (List&lt;ReservationDTO&gt;) в JSON.
+ * Варианты:
+ * - objectMapper: ObjectMapper приложения, как при выдаче списка контроллером;
+ * - objectWriter: заранее созданный ObjectWriter для типа списка;
+ * - afterburner: ObjectMapper приложения с модулем Afterburner;
+ * - exportGenerator: JsonGenerator с записью каждого элемента через writeObject, как в потоковой выгрузке;
+ * - streamingWriter: JsonGenerator с явной записью полей, без сериализаторов databind.
+ * Все варианты пишут одинаковый JSON, это проверяется при подготовке данных.
+ * Ответ пишется в переиспользуемый буфер, поэтому в выделение памяти входит только сама сериализация.
+ *
+ * @author yanchenko_evgeniya
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReservationsJsonBenchmark {
+
+    private static final LocalDateTime FIRST_DATE_TIME = LocalDateTime.of(2030, 1, 14, 8, 0);
+    private static final int SCHEDULES_COUNT = 50;
+    private static final int SERVICES_COUNT = 10;
+    private static final int CHILDREN_COUNT = 1000;
+    private static final int INITIAL_BUFFER_SIZE = 1_048_576;
+
+    /** Количество записей на прием в списке */
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter objectWriter;
+    private ObjectMapper afterburnerObjectMapper;
+
+    private List<ReservationDTO> reservations;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+
+    @Setup
+    public void setUp() throws IOException {
+
+        objectMapper = BenchmarkObjectMappers.applicationObjectMapper();
+        objectWriter = objectMapper.writerFor(new TypeReference<List<ReservationDTO>>() { });
+        afterburnerObjectMapper = BenchmarkObjectMappers.afterburnerObjectMapper(objectMapper);
+
+        reservations = new ArrayList<>(size);
+
+        for (int i = 1; i <= size; i++) {
+            reservations.add(new ReservationDTO(
+                    Long.valueOf(i),
+                    FIRST_DATE_TIME.plusMinutes(i),
+                    Long.valueOf(i % SCHEDULES_COUNT + 1),
+                    i % SERVICES_COUNT + 1,
+                    true,
+                    i % CHILDREN_COUNT + 1
+            ));
+        }
+
+        checkSameJson();
+    }
+
+    @Benchmark
+    public int objectMapper() throws IOException {
+
+        out.reset();
+        objectMapper.writeValue(out, reservations);
+        return out.size();
+    }
+
+    @Benchmark
+    public int objectWriter() throws IOException {
+
+        out.reset();
+        objectWriter.writeValue(out, reservations);
+        return out.size();
+    }
+
+    @Benchmark
+    public int afterburner() throws IOException {
+
+        out.reset();
+        afterburnerObjectMapper.writeValue(out, reservations);
+        return out.size();
+    }
+
+    @Benchmark
+    public int exportGenerator() throws IOException {
+
+        out.reset();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            generator.writeStartArray();
+            for (ReservationDTO reservation : reservations) {
+                generator.writeObject(reservation);
+            }
+            generator.writeEndArray();
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int streamingWriter() throws IOException {
+
+        out.reset();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            generator.writeStartArray();
+            for (ReservationDTO reservation : reservations) {
+                writeReservation(generator, reservation);
+            }
+            generator.writeEndArray();
+        }
+        return out.size();
+    }
+
+    /** Запись полей записи на прием в том же порядке и формате, что и у ObjectMapper-а приложения */
+    private static void writeReservation(
+            final JsonGenerator generator, final ReservationDTO reservation
+    ) throws IOException {
+
+        generator.writeStartObject();
+        generator.writeNumberField("id", reservation.getId());
+        generator.writeStringField("dateTime", ISO_LOCAL_DATE_TIME.format(reservation.getDateTime()));
+        generator.writeNumberField("scheduleId", reservation.getScheduleId());
+        generator.writeNumberField("serviceId", reservation.getServiceId());
+        generator.writeBooleanField("active", reservation.isActive());
+        generator.writeNumberField("childId", reservation.getChildId());
+        generator.writeEndObject();
+    }
+
+    /** Проверка, что все варианты сериализации дают одинаковый JSON */
+    private void checkSameJson() throws IOException {
+
+        objectMapper();
+        final byte[] expected = out.toByteArray();
+
+        objectWriter();
+        checkSameJson(expected, "objectWriter");
+
+        afterburner();
+        checkSameJson(expected, "afterburner");
+
+        exportGenerator();
+        checkSameJson(expected, "exportGenerator");
+
+        streamingWriter();
+        checkSameJson(expected, "streamingWriter");
+    }
+
+    private void checkSameJson(final byte[] expected, final String variant) {
+
+        if (!Arrays.equals(expected, out.toByteArray())) {
+            throw new IllegalStateException("JSON written by " + variant + " differs from ObjectMapper output");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package appointments.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Бенчмарк сериализации страницы расписаний (Page&lt;ScheduleDTO&gt;) в JSON, как в ответе GET /schedules.
+ * В каждом расписании специалист, две услуги и reservationsCount идентификаторов записей на прием.
+ * Варианты: ObjectMapper приложения, заранее созданный ObjectWriter для типа страницы
+ * и ObjectMapper приложения с модулем Afterburner.
+ *
+ * @author yanchenko_evgeniya
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SchedulesPageJsonBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 14);
+    private static final LocalTime START_TIME = LocalTime.of(8, 0);
+    private static final LocalTime END_TIME = LocalTime.of(20, 0);
+    private static final int INTERVAL = 15;
+    private static final int SPECIALISTS_COUNT = 20;
+    private static final long TOTAL_SCHEDULES_COUNT = 10_000;
+    private static final int INITIAL_BUFFER_SIZE = 1_048_576;
+
+    /** Количество расписаний на странице */
+    @Param({"20", "100"})
+    private int pageSize;
+
+    /** Количество записей на прием в каждом расписании */
+    @Param({"10", "48"})
+    private int reservationsCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter objectWriter;
+    private ObjectMapper afterburnerObjectMapper;
+
+    private Page<ScheduleDTO> page;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+
+    @Setup
+    public void setUp() throws IOException {
+
+        objectMapper = BenchmarkObjectMappers.applicationObjectMapper();
+        objectWriter = objectMapper.writerFor(new TypeReference<Page<ScheduleDTO>>() { });
+        afterburnerObjectMapper = BenchmarkObjectMappers.afterburnerObjectMapper(objectMapper);
+
+        final List<ServiceSimpleDTO> services = Arrays.asList(
+                new ServiceSimpleDTO(1, "Консультация"),
+                new ServiceSimpleDTO(2, "Повторный прием")
+        );
+
+        final List<ScheduleDTO> schedules = new ArrayList<>(pageSize);
+        long reservationId = 1;
+
+        for (int i = 1; i <= pageSize; i++) {
+
+            final List<Long> reservationIds = new ArrayList<>(reservationsCount);
+
+            for (int j = 0; j < reservationsCount; j++) {
+                reservationIds.add(reservationId++);
+            }
+
+            final int specialistId = i % SPECIALISTS_COUNT + 1;
+
+            schedules.add(new ScheduleDTO(
+                    Long.valueOf(i),
+                    new SpecialistSimpleDTO(specialistId, "Специалист " + specialistId),
+                    String.valueOf(i),
+                    DATE,
+                    services,
+                    START_TIME,
+                    END_TIME,
+                    INTERVAL,
+                    reservationIds
+            ));
+        }
+
+        page = new PageImpl<>(schedules, PageRequest.of(0, pageSize), TOTAL_SCHEDULES_COUNT);
+
+        objectMapper();
+        final byte[] expected = out.toByteArray();
+
+        objectWriter();
+        checkSameOutput(expected, "ObjectWriter");
+
+        afterburner();
+        checkSameOutput(expected, "afterburner");
+    }
+
+    @Benchmark
+    public int objectMapper() throws IOException {
+
+        out.reset();
+        objectMapper.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int objectWriter() throws IOException {
+
+        out.reset();
+        objectWriter.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int afterburner() throws IOException {
+
+        out.reset();
+        afterburnerObjectMapper.writeValue(out, page);
+        return out.size();
+    }
+
+    /**
+     * Служебный метод, проверяющий, что сериализатор записал тот же JSON, что и ObjectMapper приложения.
+     * JSON сравнивается как дерево: ObjectWriter для типа Page, как и Spring MVC для объявленного типа ответа,
+     * пишет те же свойства в порядке интерфейса Page, а не PageImpl
+     */
+    private void checkSameOutput(final byte[] expected, final String serializer) throws IOException {
+
+        if (!objectMapper.readTree(expected).equals(objectMapper.readTree(out.toByteArray()))) {
+            throw new IllegalStateException("JSON written by " + serializer + " differs from ObjectMapper output");
+        }
+    }
+}
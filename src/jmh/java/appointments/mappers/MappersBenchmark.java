@@ -0,0 +1,88 @@
+package appointments.mappers;
+
+import appointments.domain.Child;
+import appointments.domain.Reservation;
+import appointments.domain.Schedule;
+import appointments.domain.Service;
+import appointments.dto.ReservationDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Бенчмарк преобразований списков, которые выполняются при каждой выдаче расписаний и записей на прием:
+ * идентификаторы записей расписания (ScheduleMapper.reservationsToIds / idsToReservations)
+ * и список записей на прием в DTO (ReservationMapper.reservationListToReservationDTOList).
+ * Используются реализации мапперов, сгенерированные MapStruct.
+ *
+ * @author yanchenko_evgeniya
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappersBenchmark {
+
+    private static final LocalDateTime FIRST_DATE_TIME = LocalDateTime.of(2030, 1, 14, 8, 0);
+    private static final int SERVICES_COUNT = 10;
+    private static final int CHILDREN_COUNT = 1000;
+
+    /** Количество записей на прием в списке */
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final ScheduleMapper scheduleMapper = new ScheduleMapperImpl();
+    private final ReservationMapper reservationMapper = new ReservationMapperImpl();
+
+    private List<Reservation> reservations;
+    private List<Long> reservationIds;
+
+    @Setup
+    public void setUp() {
+
+        final Schedule schedule = new Schedule();
+        schedule.setId(1L);
+
+        reservations = new ArrayList<>(size);
+        reservationIds = new ArrayList<>(size);
+
+        for (int i = 1; i <= size; i++) {
+
+            final Long id = Long.valueOf(i);
+
+            final Service service = new Service();
+            service.setId(i % SERVICES_COUNT + 1);
+
+            final Child child = new Child();
+            child.setId(i % CHILDREN_COUNT + 1);
+
+            reservations.add(new Reservation(id, FIRST_DATE_TIME.plusMinutes(i), schedule, service, true, child));
+            reservationIds.add(id);
+        }
+    }
+
+    @Benchmark
+    public List<Long> reservationsToIds() {
+        return scheduleMapper.reservationsToIds(reservations);
+    }
+
+    @Benchmark
+    public List<Reservation> idsToReservations() {
+        return scheduleMapper.idsToReservations(reservationIds);
+    }
+
+    @Benchmark
+    public List<ReservationDTO> reservationListToReservationDTOList() {
+        return reservationMapper.reservationListToReservationDTOList(reservations);
+    }
+}
@@ -0,0 +1,120 @@
+package appointments.services;
+
+import appointments.domain.Schedule;
+import appointments.exceptions.ReservationAlreadyExistsException;
+import appointments.repos.ReservationsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Бенчмарк проверки времени записи на прием по расписанию (ReservationsService.checkIfTimeInSchedule),
+ * которая выполняется при каждой новой записи.
+ * Расписание на 12 часов с интервалом приема в одну минуту, первые reservationsCount интервалов заняты.
+ * Проверяется свободное и занятое время при построенной маске занятости,
+ * а также свободное время сразу после сброса маски, когда она строится заново по списку записей.
+ * Репозиторий записей заменен заглушкой, поэтому в результаты не входит обращение к базе.
+ *
+ * @author yanchenko_evgeniya
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReservationsServiceBenchmark {
+
+    private static final Long SCHEDULE_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 14);
+    private static final LocalTime START_TIME = LocalTime.of(8, 0);
+    private static final LocalTime END_TIME = LocalTime.of(20, 0);
+    private static final int INTERVAL = 1;
+
+    /** Количество записей на прием в расписании */
+    @Param({"10", "100", "500"})
+    private int reservationsCount;
+
+    private ReservationsService reservationsService;
+    private ScheduleOccupancyIndex occupancyIndex;
+    private Schedule schedule;
+    private LocalDateTime freeDateTime;
+    private LocalDateTime busyDateTime;
+
+    @Setup
+    public void setUp() {
+
+        final List<LocalDateTime> dateTimes = new ArrayList<>();
+
+        for (int i = 0; i < reservationsCount; i++) {
+            dateTimes.add(DATE.atTime(START_TIME).plusMinutes(i * INTERVAL));
+        }
+
+        occupancyIndex = new ScheduleOccupancyIndex(reservationsRepository(dateTimes));
+        reservationsService = new ReservationsService(
+                null, null, null, null, null, occupancyIndex, null, new SimpleMeterRegistry()
+        );
+
+        schedule = new Schedule();
+        schedule.setId(SCHEDULE_ID);
+        schedule.setDate(DATE);
+        schedule.setStartTime(START_TIME);
+        schedule.setEndTime(END_TIME);
+        schedule.setIntervalOfReception(INTERVAL);
+        schedule.setServices(Collections.emptyList());
+
+        busyDateTime = dateTimes.get(reservationsCount - 1);
+        freeDateTime = busyDateTime.plusMinutes(INTERVAL);
+    }
+
+    @Benchmark
+    public void checkFreeTime() {
+        reservationsService.checkIfTimeInSchedule(schedule, freeDateTime);
+    }
+
+    @Benchmark
+    public boolean checkBusyTime() {
+
+        try {
+            reservationsService.checkIfTimeInSchedule(schedule, busyDateTime);
+            return false;
+        } catch (ReservationAlreadyExistsException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public void checkFreeTimeAfterEviction() {
+
+        occupancyIndex.evict(SCHEDULE_ID);
+        reservationsService.checkIfTimeInSchedule(schedule, freeDateTime);
+    }
+
+    /** Заглушка репозитория, возвращающая время записей на прием для построения маски занятости */
+    private static ReservationsRepository reservationsRepository(final List<LocalDateTime> dateTimes) {
+
+        return ReservationsRepository.class.cast(Proxy.newProxyInstance(
+                ReservationsRepository.class.getClassLoader(),
+                new Class<?>[] {ReservationsRepository.class},
+                (proxy, method, args) -> {
+                    if ("findDateTimesByScheduleId".equals(method.getName())) {
+                        return dateTimes;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        ));
+    }
+}
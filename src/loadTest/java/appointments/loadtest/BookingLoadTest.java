@@ -0,0 +1,121 @@
+package appointments.loadtest;
+
+import appointments.integration.utils.TestRestClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Нагрузочный тест записи на прием: приложение запускается с профилем test (H2),
+ * база наполняется LoadTestDataSeeder, после чего load-test.users виртуальных пользователей
+ * выполняют BookingScenario в течение разогрева и замера.
+ * Отчет с пропускной способностью и задержками p50/p95/p99 по каждому endpoint-у выводится в журнал
+ * и в файл load-test.report-file. Запускается отдельной задачей Gradle: ./gradlew loadTest
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false"
+)
+public class BookingLoadTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private LoadTestDataSeeder seeder;
+
+    @Test
+    public void testBookingUnderLoad() throws Exception {
+
+        final List<Integer> childIds = seeder.seed(properties);
+
+        final LatencyReport report = new LatencyReport();
+        final long measureFromNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getWarmupSeconds());
+        final long untilNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(properties.getDurationSeconds());
+
+        log.info(
+                "Starting load test: {} users, warmup {} s, duration {} s",
+                properties.getUsers(), properties.getWarmupSeconds(), properties.getDurationSeconds()
+        );
+
+        final ExecutorService executor = Executors.newFixedThreadPool(properties.getUsers());
+        final List<Future<?>> users = new ArrayList<>();
+
+        for (int i = 0; i < properties.getUsers(); i++) {
+            users.add(executor.submit(new BookingScenario(
+                    new TestRestClient(restTemplate),
+                    objectMapper,
+                    properties,
+                    childIds,
+                    report,
+                    new Random(i),
+                    measureFromNanos,
+                    untilNanos
+            )));
+        }
+
+        try {
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final String summary = report.format(properties.getDurationSeconds());
+
+        log.info("Load test report:\n{}", summary);
+        writeReport(summary);
+
+        assertThat(report.getCount(BookingScenario.RESERVATIONS)).isPositive();
+        assertThat(report.getErrors(BookingScenario.LOGIN)).isZero();
+    }
+
+    /** Служебный метод для сохранения отчета в файл, если он указан в настройках */
+    private void writeReport(final String summary) throws IOException {
+
+        if (properties.getReportFile() == null) {
+            return;
+        }
+
+        final Path reportFile = Paths.get(properties.getReportFile());
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.write(reportFile, summary.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,231 @@
+package appointments.loadtest;
+
+import appointments.dto.FreeSlotsDTO;
+import appointments.dto.ReservationDTO;
+import appointments.integration.utils.TestRestClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Сценарий одного виртуального пользователя нагрузочного теста. Пользователь входит один раз и дальше
+ * работает в той же сессии, чтобы нагрузку не определяла проверка пароля BCrypt. Каждая итерация -
+ * список активных услуг, расписания на случайную дату, свободное время одного из расписаний с услугами
+ * и запись на прием в случайное свободное время.
+ * Задержки учитываются в отчете только для запросов, отправленных после окончания разогрева,
+ * кроме входа: он выполняется в начале работы пользователя и учитывается всегда.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+public class BookingScenario implements Runnable {
+
+    public static final String LOGIN = "POST /login";
+    public static final String ACTIVE_SERVICES = "GET /services/active";
+    public static final String SCHEDULES = "GET /schedules?date=";
+    public static final String FREE_SLOTS = "GET /schedules/{id}/free-slots";
+    public static final String RESERVATIONS = "POST /reservations";
+
+    /** Список расписаний доступен только администратору */
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "100";
+
+    private static final String SERVICES_FIELD = "services";
+
+    private final TestRestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final LoadTestProperties properties;
+    private final List<Integer> childIds;
+    private final LatencyReport report;
+    private final Random random;
+    private final long measureFromNanos;
+    private final long untilNanos;
+
+    /** Идентификатор сессии пользователя, null - если вход еще не выполнен */
+    private String jSessionId;
+
+    public BookingScenario(
+            TestRestClient restClient,
+            ObjectMapper objectMapper,
+            LoadTestProperties properties,
+            List<Integer> childIds,
+            LatencyReport report,
+            Random random,
+            long measureFromNanos,
+            long untilNanos
+    ) {
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.childIds = childIds;
+        this.report = report;
+        this.random = random;
+        this.measureFromNanos = measureFromNanos;
+        this.untilNanos = untilNanos;
+    }
+
+    @Override
+    public void run() {
+
+        while (System.nanoTime() < untilNanos) {
+            book();
+        }
+    }
+
+    /** Служебный метод, выполняющий одну итерацию сценария */
+    private void book() {
+
+        if (!isLoggedIn()) {
+            return;
+        }
+
+        measure(
+                ACTIVE_SERVICES,
+                () -> restClient.exchange("/services/active", jSessionId, HttpMethod.GET, String.class),
+                BookingScenario::isSuccessful
+        );
+
+        final LocalDate date = LoadTestDataSeeder.START_DATE.plusDays(random.nextInt(properties.getDays()));
+
+        final ResponseEntity<String> schedules = measure(
+                SCHEDULES,
+                () -> restClient.exchange(
+                        "/schedules?date={date}&size={size}", jSessionId, HttpMethod.GET, String.class,
+                        date, properties.getPageSize()
+                ),
+                BookingScenario::isSuccessful
+        );
+
+        final JsonNode schedule = randomElement(withServices(readContent(schedules)));
+
+        if (schedule == null) {
+            return;
+        }
+
+        final Long scheduleId = schedule.path("id").asLong();
+
+        final ResponseEntity<FreeSlotsDTO> freeSlots = measure(
+                FREE_SLOTS,
+                () -> restClient.exchange(
+                        "/schedules/{id}/free-slots", jSessionId, HttpMethod.GET, FreeSlotsDTO.class, scheduleId
+                ),
+                BookingScenario::isSuccessful
+        );
+
+        if (!isSuccessful(freeSlots) || freeSlots.getBody().getFreeSlots().isEmpty()) {
+            return;
+        }
+
+        final List<LocalDateTime> freeDateTimes = freeSlots.getBody().getFreeSlots();
+        final ReservationDTO reservation = new ReservationDTO(
+                null,
+                freeDateTimes.get(random.nextInt(freeDateTimes.size())),
+                scheduleId,
+                randomElement(schedule.path(SERVICES_FIELD)).path("id").asInt(),
+                true,
+                childIds.get(random.nextInt(childIds.size()))
+        );
+
+        measure(
+                RESERVATIONS,
+                () -> restClient.exchange("/reservations", jSessionId, HttpMethod.POST, reservation, String.class),
+                response -> response != null && response.getStatusCode() == HttpStatus.CREATED
+        );
+    }
+
+    /** Служебный метод для входа при первой итерации. Если вход не удался, он повторяется в следующей */
+    private boolean isLoggedIn() {
+
+        if (jSessionId == null) {
+            jSessionId = measure(LOGIN, () -> restClient.login(USERNAME, PASSWORD), id -> id != null, true);
+        }
+
+        return jSessionId != null;
+    }
+
+    private <T> T measure(final String endpoint, final Supplier<T> request, final Predicate<T> success) {
+        return measure(endpoint, request, success, false);
+    }
+
+    /** Служебный метод, выполняющий запрос и учитывающий его задержку в отчете после разогрева
+     * или всегда, если указан признак always.
+     * Ошибка соединения учитывается как неуспешный ответ, в этом случае возвращается null */
+    private <T> T measure(
+            final String endpoint,
+            final Supplier<T> request,
+            final Predicate<T> success,
+            final boolean always
+    ) {
+
+        final long startNanos = System.nanoTime();
+        T result = null;
+
+        try {
+            result = request.get();
+        } catch (RuntimeException e) {
+            log.warn("{} failed: {}", endpoint, e.getMessage());
+        }
+
+        if (always || startNanos >= measureFromNanos) {
+            report.record(endpoint, System.nanoTime() - startNanos, result != null && success.test(result));
+        }
+
+        return result;
+    }
+
+    /** Служебный метод для чтения списка расписаний из страницы в теле ответа */
+    private JsonNode readContent(final ResponseEntity<String> response) {
+
+        if (!isSuccessful(response)) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readTree(response.getBody()).path("content");
+        } catch (IOException e) {
+            log.warn("Schedules page is not readable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Служебный метод, оставляющий расписания, в которых есть хотя бы одна услуга для записи */
+    private JsonNode withServices(final JsonNode schedules) {
+
+        if (schedules == null) {
+            return null;
+        }
+
+        final ArrayNode result = objectMapper.createArrayNode();
+
+        for (JsonNode schedule : schedules) {
+            if (schedule.path(SERVICES_FIELD).size() > 0) {
+                result.add(schedule);
+            }
+        }
+
+        return result;
+    }
+
+    private JsonNode randomElement(final JsonNode array) {
+
+        return array == null || array.size() == 0
+                ? null
+                : array.get(random.nextInt(array.size()));
+    }
+
+    private static boolean isSuccessful(final ResponseEntity<?> response) {
+        return response != null && response.getStatusCode().is2xxSuccessful();
+    }
+}
@@ -0,0 +1,101 @@
+package appointments.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Задержки ответов по endpoint-ам нагрузочного теста.
+ * Для каждого endpoint хранится гистограмма задержек в микросекундах и количество неуспешных ответов,
+ * по ним строится отчет с пропускной способностью и процентилями p50/p95/p99.
+ *
+ * @author yanchenko_evgeniya
+ */
+public class LatencyReport {
+
+    /** Максимальная учитываемая задержка и точность гистограммы (значащих цифр) */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double MEDIAN_PERCENTILE = 50.0;
+    private static final double NINETY_FIFTH_PERCENTILE = 95.0;
+    private static final double NINETY_NINTH_PERCENTILE = 99.0;
+    private static final double MICROS_IN_MILLI = 1000.0;
+
+    private static final String ROW_FORMAT = "%-32s %9s %9s %9s %9s %9s %9s %9s%n";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /** Метод для учета ответа endpoint-а с указанной задержкой */
+    public void record(final String endpoint, final long latencyNanos, final boolean success) {
+
+        final Endpoint statistics = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+
+        statistics.latencies.recordValue(
+                Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS)
+        );
+
+        if (!success) {
+            statistics.errors.incrementAndGet();
+        }
+    }
+
+    /** Метод для получения количества ответов endpoint-а */
+    public long getCount(final String endpoint) {
+
+        final Endpoint statistics = endpoints.get(endpoint);
+
+        return statistics == null ? 0 : statistics.latencies.getTotalCount();
+    }
+
+    /** Метод для получения количества неуспешных ответов endpoint-а */
+    public long getErrors(final String endpoint) {
+
+        final Endpoint statistics = endpoints.get(endpoint);
+
+        return statistics == null ? 0 : statistics.errors.get();
+    }
+
+    /** Метод для построения отчета: количество ответов, ошибки, запросов в секунду и задержки в миллисекундах */
+    public String format(final long durationSeconds) {
+
+        final StringBuilder report = new StringBuilder(String.format(
+                ROW_FORMAT, "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"
+        ));
+
+        endpoints.keySet().stream().sorted().forEach(name -> {
+
+            final Endpoint statistics = endpoints.get(name);
+            final Histogram latencies = statistics.latencies.copy();
+
+            report.append(String.format(
+                    ROW_FORMAT,
+                    name,
+                    latencies.getTotalCount(),
+                    statistics.errors.get(),
+                    String.format("%.1f", latencies.getTotalCount() / Double.valueOf(durationSeconds)),
+                    millis(latencies.getValueAtPercentile(MEDIAN_PERCENTILE)),
+                    millis(latencies.getValueAtPercentile(NINETY_FIFTH_PERCENTILE)),
+                    millis(latencies.getValueAtPercentile(NINETY_NINTH_PERCENTILE)),
+                    millis(latencies.getMaxValue())
+            ));
+        });
+
+        return report.toString();
+    }
+
+    private static String millis(final long micros) {
+        return String.format("%.2f", micros / MICROS_IN_MILLI);
+    }
+
+    /** Гистограмма задержек и количество ошибок одного endpoint-а */
+    private static final class Endpoint {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,206 @@
+package appointments.loadtest;
+
+import appointments.TestHelper;
+import appointments.domain.Child;
+import appointments.domain.Organization;
+import appointments.domain.Reservation;
+import appointments.domain.Schedule;
+import appointments.domain.Service;
+import appointments.domain.Specialist;
+import appointments.repos.ChildrenRepository;
+import appointments.repos.OrganizationsRepository;
+import appointments.repos.ReservationsRepository;
+import appointments.repos.SchedulesRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import appointments.services.ReferenceResponseCache;
+import appointments.services.ResourceVersions;
+import appointments.services.ServiceScheduleIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Служебный класс, наполняющий тестовую базу данными для нагрузочного теста:
+ * к данным TestHelper добавляются дети, специалисты, расписания на каждый день
+ * и записи на прием, занимающие заданную долю времени приема.
+ * Записи на прием распределяются генератором случайных чисел с постоянным начальным значением,
+ * поэтому при одинаковых настройках наполнение одинаково.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class LoadTestDataSeeder {
+
+    /** Первый день расписаний нагрузочного теста */
+    public static final LocalDate START_DATE = LocalDate.of(2030, Month.JANUARY, 1);
+
+    private static final LocalTime START_TIME = LocalTime.of(8, 0);
+    private static final LocalTime END_TIME = LocalTime.of(20, 0);
+    private static final int INTERVAL = 15;
+    private static final int PERCENT = 100;
+    private static final long RANDOM_SEED = 42;
+    private static final int FIRST_BIRTH_CERTIFICATE_NUMBER = 100_000;
+    private static final int FIRST_PHONE_NUMBER = 1_000_000;
+
+    private final TestHelper testHelper;
+    private final ChildrenRepository childrenRepository;
+    private final OrganizationsRepository organizationsRepository;
+    private final ServicesRepository servicesRepository;
+    private final SpecialistsRepository specialistsRepository;
+    private final SchedulesRepository schedulesRepository;
+    private final ReservationsRepository reservationsRepository;
+    private final ServiceScheduleIndex serviceScheduleIndex;
+    private final ReferenceResponseCache referenceResponseCache;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public LoadTestDataSeeder(
+            TestHelper testHelper,
+            ChildrenRepository childrenRepository,
+            OrganizationsRepository organizationsRepository,
+            ServicesRepository servicesRepository,
+            SpecialistsRepository specialistsRepository,
+            SchedulesRepository schedulesRepository,
+            ReservationsRepository reservationsRepository,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ReferenceResponseCache referenceResponseCache,
+            ResourceVersions resourceVersions,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.testHelper = testHelper;
+        this.childrenRepository = childrenRepository;
+        this.organizationsRepository = organizationsRepository;
+        this.servicesRepository = servicesRepository;
+        this.specialistsRepository = specialistsRepository;
+        this.schedulesRepository = schedulesRepository;
+        this.reservationsRepository = reservationsRepository;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.referenceResponseCache = referenceResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Метод для наполнения базы, возвращает идентификаторы созданных детей */
+    public List<Integer> seed(final LoadTestProperties properties) {
+
+        final long startNanos = System.nanoTime();
+
+        testHelper.refill();
+
+        final List<Integer> childIds = transactionTemplate.execute(status -> saveChildren(properties.getChildren()));
+
+        final Random random = new Random(RANDOM_SEED);
+
+        for (int i = 1; i <= properties.getSpecialists(); i++) {
+
+            final int specialistNumber = i;
+
+            transactionTemplate.execute(status -> {
+                saveSchedules(specialistNumber, childIds, properties, random);
+                return null;
+            });
+        }
+
+        serviceScheduleIndex.evictAll();
+        referenceResponseCache.evictAll();
+        resourceVersions.touchAll();
+
+        log.info(
+                "Load test data seeded in {} ms: {} children, {} schedules, {} reservations",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                childIds.size(), schedulesRepository.count(), reservationsRepository.count()
+        );
+
+        return childIds;
+    }
+
+    /** Служебный метод для создания детей */
+    private List<Integer> saveChildren(final int count) {
+
+        final List<Child> children = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            children.add(new Child(
+                    null,
+                    "II-ЛТ",
+                    FIRST_BIRTH_CERTIFICATE_NUMBER + i,
+                    "+7(910)" + (FIRST_PHONE_NUMBER + i),
+                    "child" + i + "@example.com",
+                    "Фамилия" + i,
+                    "Имя" + i,
+                    null
+            ));
+        }
+
+        return childrenRepository.saveAll(children)
+                .stream()
+                .map(Child::getId)
+                .collect(Collectors.toList());
+    }
+
+    /** Служебный метод для создания специалиста, его расписаний на все дни и записей на прием */
+    private void saveSchedules(
+            final int specialistNumber,
+            final List<Integer> childIds,
+            final LoadTestProperties properties,
+            final Random random
+    ) {
+
+        final Organization organization = organizationsRepository.findAll().get(0);
+        final List<Service> services = servicesRepository.findAll();
+        final Specialist specialist = specialistsRepository.save(
+                new Specialist(null, "Специалист нагрузки " + specialistNumber, true, organization)
+        );
+
+        final List<Schedule> schedules = new ArrayList<>(properties.getDays());
+
+        for (int day = 0; day < properties.getDays(); day++) {
+            schedules.add(new Schedule(
+                    null,
+                    specialist,
+                    String.valueOf(specialistNumber),
+                    START_DATE.plusDays(day),
+                    services,
+                    START_TIME,
+                    END_TIME,
+                    INTERVAL,
+                    new ArrayList<>()
+            ));
+        }
+
+        final List<Reservation> reservations = new ArrayList<>();
+
+        for (Schedule schedule : schedulesRepository.saveAll(schedules)) {
+
+            for (LocalTime time = START_TIME; time.isBefore(END_TIME); time = time.plusMinutes(INTERVAL)) {
+
+                if (random.nextInt(PERCENT) < properties.getReservedPercent()) {
+                    reservations.add(new Reservation(
+                            null,
+                            schedule.getDate().atTime(time),
+                            schedule,
+                            services.get(random.nextInt(services.size())),
+                            true,
+                            childrenRepository.getOne(childIds.get(random.nextInt(childIds.size())))
+                    ));
+                }
+            }
+        }
+
+        reservationsRepository.saveAll(reservations);
+    }
+}
@@ -0,0 +1,52 @@
+package appointments.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки нагрузочного теста (load-test.*), задаются свойствами Gradle: ./gradlew loadTest -Pload-test.users=50
+ *
+ * @author yanchenko_evgeniya
+ */
+@Data
+@Component
+@ConfigurationProperties("load-test")
+public class LoadTestProperties {
+
+    private static final int DEFAULT_USERS = 20;
+    private static final int DEFAULT_WARMUP_SECONDS = 10;
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+    private static final int DEFAULT_SPECIALISTS = 20;
+    private static final int DEFAULT_DAYS = 30;
+    private static final int DEFAULT_CHILDREN = 10_000;
+    private static final int DEFAULT_RESERVED_PERCENT = 30;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Количество одновременно работающих виртуальных пользователей */
+    private int users = DEFAULT_USERS;
+
+    /** Длительность разогрева в секундах, запросы разогрева не попадают в отчет */
+    private int warmupSeconds = DEFAULT_WARMUP_SECONDS;
+
+    /** Длительность замера в секундах */
+    private int durationSeconds = DEFAULT_DURATION_SECONDS;
+
+    /** Количество специалистов, для каждого создается расписание на каждый день */
+    private int specialists = DEFAULT_SPECIALISTS;
+
+    /** Количество дней с расписаниями */
+    private int days = DEFAULT_DAYS;
+
+    /** Количество детей, от имени которых создаются записи на прием */
+    private int children = DEFAULT_CHILDREN;
+
+    /** Доля времени приема в процентах, занятая записями на прием до начала теста */
+    private int reservedPercent = DEFAULT_RESERVED_PERCENT;
+
+    /** Количество расписаний на странице GET /schedules */
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /** Файл для сохранения отчета, если не указан - отчет только выводится в журнал */
+    private String reportFile;
+}
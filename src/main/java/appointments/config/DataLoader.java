@@ -14,6 +14,8 @@ import appointments.repos.SpecialistsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +25,13 @@ import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
 
-/** Класс для первичного наполнения базы данных
+/** Класс для первичного наполнения базы данных, выполняется до генератора синтетических данных
  *
  * @author yanchenko_evgeniya
  */
 @SuppressWarnings("Duplicates")
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DataLoader implements ApplicationRunner {
 
     /** Поля с числовыми константами для создания тестовых объектов */
@@ -0,0 +1,237 @@
+package appointments.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Хранилище сессий, откладывающее запись времени последнего обращения.
+ * Хранилище в базе обновляет строку сессии на каждый запрос, даже если изменилось только время обращения.
+ * Этот класс передает в основное хранилище только новые и действительно измененные сессии
+ * (атрибуты, идентификатор, время жизни), а время обращения остальных копит в памяти
+ * и записывает одним пакетным UPDATE при вызове flush() по расписанию.
+ * Период записи должен быть намного меньше времени жизни сессии, тогда задержка не влияет на истечение сессий.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+public class LastAccessBatchingSessionRepository<S extends Session>
+        implements SessionRepository<LastAccessBatchingSessionRepository.TrackedSession<S>> {
+
+    private static final String UPDATE_LAST_ACCESS_QUERY
+            = "UPDATE %TABLE_NAME% SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? "
+                    + "WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?";
+
+    private final SessionRepository<S> delegate;
+    private final JdbcOperations jdbcOperations;
+    private final TransactionOperations transactionOperations;
+    private final String updateLastAccessQuery;
+
+    /** Отложенные обращения к сессиям, ключ - идентификатор сессии */
+    private final Map<String, LastAccess> pendingLastAccesses = new ConcurrentHashMap<>();
+
+    public LastAccessBatchingSessionRepository(
+            SessionRepository<S> delegate,
+            JdbcOperations jdbcOperations,
+            TransactionOperations transactionOperations,
+            String tableName
+    ) {
+        this.delegate = delegate;
+        this.jdbcOperations = jdbcOperations;
+        this.transactionOperations = transactionOperations;
+        this.updateLastAccessQuery = UPDATE_LAST_ACCESS_QUERY.replace("%TABLE_NAME%", tableName);
+    }
+
+    @Override
+    public TrackedSession<S> createSession() {
+        return new TrackedSession<>(delegate.createSession(), true);
+    }
+
+    @Override
+    public void save(final TrackedSession<S> session) {
+
+        if (session.isNew() || session.isChanged()) {
+
+            pendingLastAccesses.remove(session.getOriginalId());
+            delegate.save(session.getDelegate());
+            session.markSaved();
+
+        } else {
+            pendingLastAccesses.put(
+                    session.getId(),
+                    new LastAccess(session.getLastAccessedTime(), session.getMaxInactiveInterval())
+            );
+        }
+    }
+
+    @Override
+    public TrackedSession<S> findById(final String id) {
+
+        final S session = delegate.findById(id);
+
+        return session == null ? null : new TrackedSession<>(session, false);
+    }
+
+    @Override
+    public void deleteById(final String id) {
+
+        pendingLastAccesses.remove(id);
+        delegate.deleteById(id);
+    }
+
+    /** Метод для записи накопленных обращений к сессиям одним пакетом */
+    public void flush() {
+
+        if (pendingLastAccesses.isEmpty()) {
+            return;
+        }
+
+        final List<Object[]> batch = new ArrayList<>();
+        final Iterator<Map.Entry<String, LastAccess>> iterator = pendingLastAccesses.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+
+            final Map.Entry<String, LastAccess> entry = iterator.next();
+            final LastAccess lastAccess = entry.getValue();
+            iterator.remove();
+
+            batch.add(new Object[] {
+                    lastAccess.time,
+                    lastAccess.expiryTime,
+                    entry.getKey(),
+                    lastAccess.time
+            });
+        }
+
+        transactionOperations.execute(status -> jdbcOperations.batchUpdate(updateLastAccessQuery, batch));
+
+        log.debug("Flushed last access time of {} sessions", batch.size());
+    }
+
+    /** Время последнего обращения к сессии и время ее истечения в миллисекундах */
+    private static final class LastAccess {
+
+        private final long time;
+        private final long expiryTime;
+
+        private LastAccess(final Instant lastAccessedTime, final Duration maxInactiveInterval) {
+            this.time = lastAccessedTime.toEpochMilli();
+            this.expiryTime = lastAccessedTime.plus(maxInactiveInterval).toEpochMilli();
+        }
+    }
+
+    /** Сессия, отслеживающая изменения, которые нужно записать в основное хранилище немедленно */
+    public static final class TrackedSession<S extends Session> implements Session {
+
+        private final S delegate;
+        private final String originalId;
+        private boolean isNew;
+        private boolean changed;
+
+        private TrackedSession(final S delegate, final boolean isNew) {
+            this.delegate = delegate;
+            this.originalId = delegate.getId();
+            this.isNew = isNew;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+
+            changed = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(final String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(final String attributeName, final Object attributeValue) {
+
+            changed = true;
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(final String attributeName) {
+
+            changed = true;
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(final Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(final Duration interval) {
+
+            changed = true;
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+
+        private S getDelegate() {
+            return delegate;
+        }
+
+        private String getOriginalId() {
+            return originalId;
+        }
+
+        private boolean isNew() {
+            return isNew;
+        }
+
+        private boolean isChanged() {
+            return changed;
+        }
+
+        private void markSaved() {
+            isNew = false;
+            changed = false;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package appointments.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import javax.servlet.DispatcherType;
+
 /**
  * @author yanchenko_evgeniya
  */
@@ -14,4 +18,16 @@ public class MainConfiguration {
     public BCryptPasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /** Регистрация фильтра статистики SQL-запросов и для асинхронных вызовов:
+     * в них отдается буферизованное тело потоковых ответов */
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilterRegistration(SqlStatisticsFilter filter) {
+
+        final FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+
+        return registration;
+    }
 }
@@ -0,0 +1,101 @@
+package appointments.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static appointments.utils.Constants.METRIC_REPOSITORY_INVOCATIONS;
+
+/**
+ * Класс, добавляющий таймер к каждому методу репозиториев Spring Data.
+ * Прокси репозиториев создаются фабрикой Spring Data, поэтому таймер добавляется первым перехватчиком
+ * в уже созданный прокси и учитывает время транзакции репозитория и преобразования исключений.
+ * Метрика appointments.repository.invocations с тегами repository, method и exception.
+ * Реестр метрик получается лениво: постпроцессоры создаются раньше остальных бинов,
+ * и ранняя инициализация реестра лишила бы его настроек из application.yml.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+
+        if (bean instanceof Repository && bean instanceof Advised) {
+
+            final Advised advised = Advised.class.cast(bean);
+            final Class<?>[] interfaces = advised.getProxiedInterfaces();
+            final String repositoryName = interfaces.length == 0 ? beanName : interfaces[0].getSimpleName();
+
+            advised.addAdvice(0, new TimingInterceptor(repositoryName));
+        }
+
+        return bean;
+    }
+
+    /** Перехватчик, замеряющий время вызова метода репозитория */
+    private final class TimingInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        /** Таймеры успешных вызовов, ключ - метод репозитория */
+        private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(final String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(final MethodInvocation invocation) throws Throwable {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                final Object result = invocation.proceed();
+
+                timers
+                        .computeIfAbsent(invocation.getMethod(), method -> timer(method, NO_EXCEPTION))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                return result;
+
+            } catch (Throwable e) {
+
+                timer(invocation.getMethod(), e.getClass().getSimpleName())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+
+        private Timer timer(final Method method, final String exception) {
+
+            return Timer
+                    .builder(METRIC_REPOSITORY_INVOCATIONS)
+                    .tag("repository", repositoryName)
+                    .tag("method", method.getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry.getObject());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package appointments.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Фильтр, присваивающий каждому запросу идентификатор для журнала.
+ * Идентификатор берется из заголовка X-Request-Id (если его передал балансировщик) или создается заново,
+ * кладется в MDC под ключом requestId и возвращается в заголовке ответа.
+ * Стоит первым в цепочке, чтобы идентификатор был у всех записей журнала, включая записи Spring Security.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    /** Допустимый идентификатор из заголовка: защищает журнал от длинных строк и переводов строк */
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final String header = request.getHeader(REQUEST_ID_HEADER);
+        final String requestId = header != null && VALID_REQUEST_ID.matcher(header).matches()
+                ? header
+                : Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+}
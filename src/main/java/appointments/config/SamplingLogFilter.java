@@ -0,0 +1,67 @@
+package appointments.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Турбо-фильтр logback, пропускающий в журнал только каждое rate-е событие уровня ниже WARN
+ * от логгера loggerName. Используется для SQL-запросов Hibernate в профиле prod: по выборке видно,
+ * какие запросы выполняются, но журнал не растет вместе с количеством запросов.
+ * Турбо-фильтр срабатывает до создания события, поэтому отброшенные запросы не форматируются
+ * и не попадают в очередь асинхронного appender-а. Предупреждения и ошибки пропускаются всегда.
+ *
+ * @author yanchenko_evgeniya
+ */
+public class SamplingLogFilter extends TurboFilter {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    /** Имя логгера, события которого выбираются */
+    private String loggerName;
+
+    /** Каждое какое событие пропускать, 1 - пропускать все */
+    private int rate = 1;
+
+    public void setLoggerName(final String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setRate(final int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+
+        if (loggerName == null) {
+            addError("Logger name to sample is not set");
+            return;
+        }
+
+        if (rate < 1) {
+            addError("Sampling rate must be positive, got " + rate);
+            return;
+        }
+
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(final Marker marker, final Logger logger, final Level level,
+                              final String format, final Object[] params, final Throwable t) {
+
+        // format == null - это проверка isXxxEnabled(), а не событие, она не должна сдвигать выборку
+        if (format == null
+                || level.isGreaterOrEqual(Level.WARN)
+                || !loggerName.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -1,17 +1,24 @@
 package appointments.config;
 
+import appointments.services.AuthenticationTokenService;
+import appointments.services.UserDetailsCache;
 import appointments.services.UsersService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import static appointments.utils.Constants.SECURITY_ROLE_ADMIN_NAME;
 import static appointments.utils.Constants.SECURITY_ROLE_USER_NAME;
@@ -25,18 +32,35 @@ import static appointments.utils.Constants.SECURITY_ROLE_USER_NAME;
 @Slf4j
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
+    /** Пути справочников и расписаний, изменение и просмотр которых доступны только администратору */
+    private static final String[] ADMIN_PATHS = {
+            "/services/**", "/specialists/**", "/schedules/**", "/schedule-templates/**"
+    };
+
     private final UsersService usersService;
     private final BCryptPasswordEncoder passwordEncoder;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
+    private final UserDetailsCache userCache;
+    private final TokenAuthenticationProperties tokenProperties;
+    private final AuthenticationTokenService authenticationTokenService;
+    private final ObjectMapper objectMapper;
 
     public SecurityConfig(
             UsersService usersService,
             BCryptPasswordEncoder passwordEncoder,
-            CustomAuthenticationEntryPoint customAuthenticationEntryPoint
+            CustomAuthenticationEntryPoint customAuthenticationEntryPoint,
+            UserDetailsCache userCache,
+            TokenAuthenticationProperties tokenProperties,
+            AuthenticationTokenService authenticationTokenService,
+            ObjectMapper objectMapper
     ) {
         this.usersService = usersService;
         this.passwordEncoder = passwordEncoder;
         this.customAuthenticationEntryPoint = customAuthenticationEntryPoint;
+        this.userCache = userCache;
+        this.tokenProperties = tokenProperties;
+        this.authenticationTokenService = authenticationTokenService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -59,11 +83,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         .hasAnyRole(SECURITY_ROLE_USER_NAME, SECURITY_ROLE_ADMIN_NAME)
                     .antMatchers(HttpMethod.GET, "/reservations/**")
                         .hasAnyRole(SECURITY_ROLE_USER_NAME, SECURITY_ROLE_ADMIN_NAME)
-                    .antMatchers(HttpMethod.POST, "/services/**", "/specialists/**", "/schedules/**")
+                    .antMatchers(HttpMethod.GET, "/schedules/free-slots", "/schedules/*/free-slots")
+                        .hasAnyRole(SECURITY_ROLE_USER_NAME, SECURITY_ROLE_ADMIN_NAME)
+                    .antMatchers(HttpMethod.GET, "/availability/**")
+                        .hasAnyRole(SECURITY_ROLE_USER_NAME, SECURITY_ROLE_ADMIN_NAME)
+                    .antMatchers(HttpMethod.POST, ADMIN_PATHS)
                         .hasRole(SECURITY_ROLE_ADMIN_NAME)
-                    .antMatchers(HttpMethod.GET, "/services/**", "/specialists/**", "/schedules/**", "/organization")
+                    .antMatchers(HttpMethod.GET, ADMIN_PATHS)
                         .hasRole(SECURITY_ROLE_ADMIN_NAME)
-                    .antMatchers(HttpMethod.DELETE, "/services/**", "/specialists/**", "/schedules/**")
+                    .antMatchers(HttpMethod.GET, "/organization/**", "/statistics/**")
+                        .hasRole(SECURITY_ROLE_ADMIN_NAME)
+                    .antMatchers(HttpMethod.DELETE, ADMIN_PATHS)
                         .hasRole(SECURITY_ROLE_ADMIN_NAME)
                     .antMatchers(HttpMethod.PATCH, "/specialists/**", "/services/**")
                         .hasRole(SECURITY_ROLE_ADMIN_NAME)
@@ -82,6 +112,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         .deleteCookies("JSESSIONID")
                 .and()
                     .csrf().disable();
+
+        if (tokenProperties.isEnabled()) {
+            configureTokenAuthentication(httpSecurity);
+        }
     }
 
     @Bean
@@ -89,9 +123,37 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider auth = new DaoAuthenticationProvider();
         auth.setUserDetailsService(usersService);
         auth.setPasswordEncoder(passwordEncoder);
+        auth.setUserCache(userCache);
         return auth;
     }
 
+    /** Метод для перевода приложения в режим без сессий: /login вместо перенаправления
+     * возвращает подписанный токен, а последующие запросы аутентифицируются по заголовку Authorization */
+    private void configureTokenAuthentication(HttpSecurity httpSecurity) throws Exception {
+
+        log.info("Stateless token authentication enabled");
+
+        httpSecurity
+                .formLogin()
+                    .successHandler((request, response, authentication) -> {
+                        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+                        objectMapper.writeValue(
+                                response.getOutputStream(), authenticationTokenService.issueToken(authentication)
+                        );
+                    })
+                    .failureHandler((request, response, exception) -> response.sendError(
+                            HttpStatus.UNAUTHORIZED.value(), HttpStatus.UNAUTHORIZED.getReasonPhrase()
+                    ))
+                .and()
+                    .sessionManagement()
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+                    .addFilterBefore(
+                            new TokenAuthenticationFilter(authenticationTokenService),
+                            UsernamePasswordAuthenticationFilter.class
+                    );
+    }
+
 }
 
 
@@ -0,0 +1,109 @@
+package appointments.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.session.config.annotation.web.http.SpringHttpSessionConfiguration;
+import org.springframework.session.jdbc.JdbcOperationsSessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+import static appointments.utils.Constants.SESSION_LAST_ACCESS_FLUSH_INTERVAL_SECONDS;
+
+/**
+ * Конфигурация хранилища HTTP-сессий в базе данных: сессии переживают перезапуск и повторное развертывание
+ * приложения. Включается настройкой spring.session.store-type=jdbc, по умолчанию сессии хранятся в памяти Tomcat.
+ * Запуск нескольких узлов с общим хранилищем не поддерживается: приложение рассчитано на один экземпляр,
+ * его кэши в памяти (ReferenceResponseCache, ResourceVersions, ScheduleOccupancyIndex, ServiceScheduleIndex,
+ * OrganizationRegistry, UserDetailsCache, регионы кэша второго уровня Hibernate) сбрасываются только
+ * изменениями, сделанными на этом же узле, и на других узлах отдавали бы устаревшие данные.
+ * Таблицы создаются миграцией Flyway, время обращения к сессиям записывается пакетами
+ * (см. LastAccessBatchingSessionRepository),
+ * истекшие сессии удаляются по расписанию spring.session.jdbc.cleanup-cron.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "spring.session", name = "store-type", havingValue = "jdbc")
+@EnableConfigurationProperties(JdbcSessionProperties.class)
+@Import(SpringHttpSessionConfiguration.class)
+public class SharedSessionConfig implements SchedulingConfigurer {
+
+    /** Настройка периода пакетной записи времени обращения к сессиям */
+    private static final String FLUSH_INTERVAL_PROPERTY = "spring.session.jdbc.last-access-flush-interval";
+
+    private final JdbcOperationsSessionRepository jdbcSessionRepository;
+    private final LastAccessBatchingSessionRepository<?> sessionRepository;
+    private final JdbcSessionProperties jdbcSessionProperties;
+    private final Duration flushInterval;
+
+    @Autowired
+    public SharedSessionConfig(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SessionProperties sessionProperties,
+            JdbcSessionProperties jdbcSessionProperties,
+            Environment environment
+    ) {
+        this.jdbcSessionProperties = jdbcSessionProperties;
+        this.flushInterval = environment.getProperty(
+                FLUSH_INTERVAL_PROPERTY, Duration.class, Duration.ofSeconds(SESSION_LAST_ACCESS_FLUSH_INTERVAL_SECONDS)
+        );
+        this.jdbcSessionRepository = new JdbcOperationsSessionRepository(jdbcTemplate, transactionManager);
+        this.jdbcSessionRepository.setTableName(jdbcSessionProperties.getTableName());
+
+        final Duration timeout = sessionProperties.getTimeout();
+
+        if (timeout != null) {
+            this.jdbcSessionRepository.setDefaultMaxInactiveInterval(Math.toIntExact(timeout.getSeconds()));
+        }
+
+        this.sessionRepository = new LastAccessBatchingSessionRepository<>(
+                jdbcSessionRepository,
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                jdbcSessionProperties.getTableName()
+        );
+    }
+
+    @Bean
+    public LastAccessBatchingSessionRepository<?> sessionRepository() {
+        return sessionRepository;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+
+        log.info(
+                "JDBC session store enabled, table {}, last access flush interval {}",
+                jdbcSessionProperties.getTableName(), flushInterval
+        );
+
+        taskRegistrar.addFixedDelayTask(sessionRepository::flush, flushInterval.toMillis());
+        taskRegistrar.addCronTask(
+                jdbcSessionRepository::cleanUpExpiredSessions, jdbcSessionProperties.getCleanupCron()
+        );
+    }
+
+    /** Метод для записи накопленных обращений к сессиям при остановке узла */
+    @PreDestroy
+    public void flushOnShutdown() {
+        sessionRepository.flush();
+    }
+}
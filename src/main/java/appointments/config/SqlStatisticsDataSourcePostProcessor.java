@@ -0,0 +1,52 @@
+package appointments.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Класс, оборачивающий источник данных прокси для учета SQL-запросов (см. SqlStatisticsListener).
+ * Пул соединений остается прежним, прокси только передает вызовы JDBC слушателю.
+ * Вызовы ResultSet проходят через прокси только в режиме разработки (sql.statistics.response-headers),
+ * где прочитанные строки показываются в заголовках ответа; в остальных режимах учитываются только запросы.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Component
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    /** Имя настройки читается из окружения: привязка SqlStatisticsProperties может еще не выполниться */
+    private static final String RESPONSE_HEADERS_PROPERTY = "sql.statistics.response-headers";
+
+    private final SqlStatisticsListener listener;
+    private final boolean countReadRows;
+
+    public SqlStatisticsDataSourcePostProcessor(SqlStatisticsListener listener, Environment environment) {
+        this.listener = listener;
+        this.countReadRows = environment.getProperty(RESPONSE_HEADERS_PROPERTY, Boolean.class, false);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+
+        if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+
+            final ProxyDataSourceBuilder builder = ProxyDataSourceBuilder
+                    .create(DataSource.class.cast(bean))
+                    .name(beanName)
+                    .listener(listener);
+
+            if (countReadRows) {
+                builder.methodListener(listener).proxyResultSet();
+            }
+
+            return builder.build();
+        }
+
+        return bean;
+    }
+}
@@ -0,0 +1,190 @@
+package appointments.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static appointments.utils.Constants.METRIC_SQL_IDENTICAL_STATEMENTS;
+import static appointments.utils.Constants.METRIC_SQL_ROWS;
+import static appointments.utils.Constants.METRIC_SQL_STATEMENTS;
+import static appointments.utils.Constants.METRIC_SQL_TIME;
+
+/**
+ * Фильтр, учитывающий SQL-запросы каждого HTTP-запроса: количество запросов, время в базе и количество строк.
+ * Статистика всегда записывается в метрики, а в режиме разработки (sql.statistics.response-headers)
+ * еще и в заголовки ответа - для этого тело ответа буферизуется до окончания обработки запроса.
+ * Если обработка перешла в асинхронный режим (потоковая выгрузка записей на прием), тело ответа
+ * больше не буферизуется, а пишется напрямую, и заголовки X-Sql-* в такой ответ не добавляются.
+ * Если один SQL-запрос выполнен больше sql.statistics.identical-statements-threshold раз,
+ * в журнал пишется предупреждение: обычно это ленивая загрузка коллекций в цикле (N+1).
+ * Учитываются запросы потока обработки запроса; запросы, выполненные в асинхронной части
+ * (например, при потоковой выгрузке записей на прием), в статистику не попадают.
+ * Регистрируется в MainConfiguration сразу после RequestIdFilter.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+
+    private final SqlStatisticsListener listener;
+    private final SqlStatisticsProperties properties;
+
+    private final DistributionSummary statementsSummary;
+    private final Timer timeTimer;
+    private final DistributionSummary rowsSummary;
+    private final Counter identicalStatementsCounter;
+
+    @Autowired
+    public SqlStatisticsFilter(
+            SqlStatisticsListener listener,
+            SqlStatisticsProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.listener = listener;
+        this.properties = properties;
+        this.statementsSummary = meterRegistry.summary(METRIC_SQL_STATEMENTS);
+        this.timeTimer = meterRegistry.timer(METRIC_SQL_TIME);
+        this.rowsSummary = meterRegistry.summary(METRIC_SQL_ROWS);
+        this.identicalStatementsCounter = meterRegistry.counter(METRIC_SQL_IDENTICAL_STATEMENTS);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // при асинхронной обработке буферизованное тело ответа отдается в завершающем асинхронном вызове
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+
+            filterChain.doFilter(request, response);
+            copyBufferedBody(request, response);
+            return;
+        }
+
+        final HttpServletResponse filteredResponse = properties.isResponseHeaders()
+                ? new SyncContentCachingResponseWrapper(request, response)
+                : response;
+
+        listener.start();
+
+        try {
+            filterChain.doFilter(request, filteredResponse);
+        } finally {
+
+            final SqlStatisticsListener.Statistics statistics = listener.stop();
+
+            record(request, statistics);
+
+            if (properties.isResponseHeaders() && !isAsyncStarted(request)) {
+                filteredResponse.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+                filteredResponse.setHeader(TIME_HEADER, String.valueOf(statistics.getTimeMillis()));
+                filteredResponse.setHeader(ROWS_HEADER, String.valueOf(statistics.getRows()));
+            }
+
+            copyBufferedBody(request, filteredResponse);
+        }
+    }
+
+    /** Служебный метод для записи статистики в метрики и проверки на повторяющиеся запросы */
+    private void record(final HttpServletRequest request, final SqlStatisticsListener.Statistics statistics) {
+
+        statementsSummary.record(statistics.getStatements());
+        timeTimer.record(statistics.getTimeMillis(), TimeUnit.MILLISECONDS);
+        rowsSummary.record(statistics.getRows());
+
+        for (Map.Entry<String, Integer> entry : statistics.getIdenticalStatements().entrySet()) {
+
+            if (entry.getValue() > properties.getIdenticalStatementsThreshold()) {
+
+                identicalStatementsCounter.increment();
+                log.warn(
+                        "{} {} executed the same statement {} times: {}",
+                        request.getMethod(), request.getRequestURI(), entry.getValue(), entry.getKey()
+                );
+            }
+        }
+    }
+
+    /** Служебный метод для отдачи буферизованного тела ответа, если обработка запроса завершена */
+    private void copyBufferedBody(
+            final HttpServletRequest request, final HttpServletResponse response
+    ) throws IOException {
+
+        final ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(
+                response, ContentCachingResponseWrapper.class
+        );
+
+        if (wrapper != null && !isAsyncStarted(request)) {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /** Буфер тела ответа, который пропускает запись напрямую в ответ после перехода в асинхронный режим */
+    private static final class SyncContentCachingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        private SyncContentCachingResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+
+            if (request.isAsyncStarted()) {
+                copyBodyToResponse(false);
+                return getResponse().getOutputStream();
+            }
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+
+            if (request.isAsyncStarted()) {
+                copyBodyToResponse(false);
+                return getResponse().getWriter();
+            }
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+
+            if (request.isAsyncStarted()) {
+                copyBodyToResponse(false);
+                getResponse().flushBuffer();
+                return;
+            }
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package appointments.config;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Слушатель прокси источника данных, накапливающий статистику SQL-запросов текущего потока.
+ * Учет ведется только между вызовами start() и stop(), которые делает SqlStatisticsFilter на время HTTP-запроса;
+ * запросы фоновых задач и миграций не учитываются.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Component
+public class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String RESULT_SET_NEXT = "next";
+
+    private final ThreadLocal<Statistics> currentStatistics = new ThreadLocal<>();
+
+    /** Метод для начала учета запросов в текущем потоке */
+    public void start() {
+        currentStatistics.set(new Statistics());
+    }
+
+    /** Метод для окончания учета запросов в текущем потоке, возвращает накопленную статистику */
+    public Statistics stop() {
+
+        final Statistics statistics = currentStatistics.get();
+        currentStatistics.remove();
+
+        return statistics == null ? new Statistics() : statistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // учет ведется после выполнения запроса
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        final Statistics statistics = currentStatistics.get();
+
+        if (statistics == null) {
+            return;
+        }
+
+        statistics.statements++;
+        statistics.timeMillis += execInfo.getElapsedTime();
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            statistics.identicalStatements.merge(queryInfo.getQuery(), 1, Integer::sum);
+        }
+
+        // для изменений результат - количество измененных строк, для пакета - массив количеств
+        final Object result = execInfo.getResult();
+
+        if (result instanceof Integer) {
+            statistics.rows += Integer.class.cast(result);
+        } else if (result instanceof int[]) {
+            for (int count : int[].class.cast(result)) {
+                statistics.rows += Math.max(count, 0);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // учет ведется после вызова метода
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+
+        final Statistics statistics = currentStatistics.get();
+
+        // строки выборки считаются по успешным вызовам ResultSet.next()
+        if (statistics != null
+                && executionContext.getTarget() instanceof ResultSet
+                && RESULT_SET_NEXT.equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            statistics.rows++;
+        }
+    }
+
+    /** Статистика SQL-запросов одного HTTP-запроса */
+    @Getter
+    public static final class Statistics {
+
+        /** Количество выполненных запросов (пакет считается одним обращением к базе) */
+        private int statements;
+
+        /** Суммарное время выполнения запросов в миллисекундах */
+        private long timeMillis;
+
+        /** Количество измененных строк и, в режиме разработки, прочитанных строк */
+        private long rows;
+
+        /** Количество выполнений каждого SQL-запроса, ключ - текст запроса */
+        private final Map<String, Integer> identicalStatements = new HashMap<>();
+    }
+}
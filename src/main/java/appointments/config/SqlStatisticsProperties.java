@@ -0,0 +1,24 @@
+package appointments.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static appointments.utils.Constants.SQL_IDENTICAL_STATEMENTS_DEFAULT_THRESHOLD;
+
+/**
+ * Класс с настройками учета SQL-запросов на каждый HTTP-запрос (sql.statistics.* в application.yml)
+ *
+ * @author yanchenko_evgeniya
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sql.statistics")
+public class SqlStatisticsProperties {
+
+    /** Признак добавления количества запросов, времени в базе и строк в заголовки ответа, для режима разработки */
+    private boolean responseHeaders;
+
+    /** Количество одинаковых SQL-запросов за один HTTP-запрос, после которого в журнал пишется предупреждение */
+    private int identicalStatementsThreshold = SQL_IDENTICAL_STATEMENTS_DEFAULT_THRESHOLD;
+}
@@ -0,0 +1,509 @@
+package appointments.config;
+
+import appointments.repos.SyntheticDataRepository;
+import appointments.services.ReferenceResponseCache;
+import appointments.services.ResourceVersions;
+import appointments.services.ScheduleOccupancyIndex;
+import appointments.services.ServiceScheduleIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static appointments.utils.Constants.SYNTHETIC_DATA_NO_ORGANIZATIONS_MESSAGE;
+import static appointments.utils.Constants.SYNTHETIC_DATA_NO_SERVICES_MESSAGE;
+
+/**
+ * Генератор синтетических данных для нагрузочного тестирования: дети, специалисты, расписания на все рабочие дни
+ * за несколько лет и записи на прием. Выполняется после DataLoader и дополняет его данные, используя его организации
+ * и активные услуги. Строки записываются через SyntheticDataRepository (COPY в PostgreSQL) без Hibernate.
+ *
+ * Распределения приближены к реальным: у каждого специалиста своя смена, интервал приема и набор услуг,
+ * в часть рабочих дней специалист не принимает; прошедшие дни и ближайшая неделя заняты почти полностью,
+ * занятость дальних дней убывает, утром и в понедельник записей больше, в пятницу и вечером - меньше;
+ * часть детей записывается намного чаще остальных, часть записей отменена.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "synthetic-data", name = "enabled", havingValue = "true")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final List<String> CHILD_COLUMNS = Arrays.asList(
+            "id", "birth_certificate_series", "birth_certificate_number", "phone_number", "email",
+            "last_name", "first_name", "patronymic"
+    );
+    private static final List<String> SPECIALIST_COLUMNS = Arrays.asList(
+            "id", "name", "active", "organization_id"
+    );
+    private static final List<String> SCHEDULE_COLUMNS = Arrays.asList(
+            "id", "specialist_id", "room_number", "date", "start_time", "end_time", "interval_of_reception"
+    );
+    private static final List<String> SERVICE_SCHEDULE_COLUMNS = Arrays.asList(
+            "service_id", "schedule_id"
+    );
+    private static final List<String> RESERVATION_COLUMNS = Arrays.asList(
+            "id", "date_time", "schedule_id", "service_id", "active", "child_id"
+    );
+
+    private static final String[] MALE_LAST_NAMES = {
+        "Иванов", "Смирнов", "Кузнецов", "Попов", "Васильев", "Петров", "Соколов", "Михайлов", "Новиков",
+        "Федоров", "Морозов", "Волков", "Алексеев", "Лебедев", "Семенов", "Егоров", "Павлов", "Козлов",
+        "Степанов", "Николаев", "Орлов", "Андреев", "Макаров", "Никитин", "Захаров", "Зайцев", "Соловьев",
+        "Борисов", "Яковлев", "Григорьев", "Романов", "Воробьев", "Сергеев", "Кузьмин", "Фролов"
+    };
+    private static final String FEMALE_LAST_NAME_ENDING = "а";
+
+    private static final String[] MALE_FIRST_NAMES = {
+        "Александр", "Михаил", "Максим", "Артем", "Лев", "Марк", "Иван", "Матвей", "Дмитрий", "Тимофей",
+        "Даниил", "Кирилл", "Роман", "Егор", "Никита", "Илья", "Федор", "Андрей", "Алексей", "Сергей"
+    };
+    private static final String[] FEMALE_FIRST_NAMES = {
+        "София", "Анна", "Мария", "Алиса", "Ева", "Виктория", "Полина", "Варвара", "Александра", "Анастасия",
+        "Василиса", "Дарья", "Вероника", "Милана", "Ксения", "Екатерина", "Елизавета", "Арина", "Ульяна", "Вера"
+    };
+
+    /** Отчества сына и дочери одного отца */
+    private static final String[] MALE_PATRONYMICS = {
+        "Александрович", "Сергеевич", "Дмитриевич", "Андреевич", "Алексеевич", "Владимирович", "Евгеньевич",
+        "Игоревич", "Михайлович", "Николаевич", "Олегович", "Павлович", "Викторович", "Юрьевич"
+    };
+    private static final String[] FEMALE_PATRONYMICS = {
+        "Александровна", "Сергеевна", "Дмитриевна", "Андреевна", "Алексеевна", "Владимировна", "Евгеньевна",
+        "Игоревна", "Михайловна", "Николаевна", "Олеговна", "Павловна", "Викторовна", "Юрьевна"
+    };
+
+    /** Римские номера серий свидетельств о рождении, не длиннее трех символов: серия ограничена 6 символами */
+    private static final String[] BIRTH_CERTIFICATE_ROMAN_SERIES = {
+        "I", "II", "III", "IV", "V", "VI", "VII", "IX", "X"
+    };
+    private static final String BIRTH_CERTIFICATE_LETTERS = "АБВГДЕЖЗИКЛМНОПРСТУФХЦЧШЭЮЯ";
+    private static final int MIN_BIRTH_CERTIFICATE_NUMBER = 100_000;
+    private static final int BIRTH_CERTIFICATE_NUMBERS = 900_000;
+
+    private static final String PHONE_FORMAT = "+7(9%02d)%07d";
+    private static final int PHONE_OPERATOR_CODES = 100;
+    private static final int PHONE_NUMBERS = 10_000_000;
+
+    private static final String[] EMAIL_DOMAINS = {"mail.ru", "yandex.ru", "gmail.com", "bk.ru", "inbox.ru"};
+
+    /** Смены специалистов: начало, окончание и доля специалистов в процентах */
+    private static final LocalTime[] SHIFT_STARTS = {LocalTime.of(9, 0), LocalTime.of(8, 0), LocalTime.of(14, 0)};
+    private static final LocalTime[] SHIFT_ENDS = {LocalTime.of(18, 0), LocalTime.of(13, 0), LocalTime.of(19, 0)};
+    private static final int[] SHIFT_PERCENTS = {50, 25, 25};
+
+    /** Интервалы приема в минутах и доля специалистов в процентах */
+    private static final int[] INTERVALS = {15, 20, 30};
+    private static final int[] INTERVAL_PERCENTS = {50, 30, 20};
+
+    private static final int ROOMS = 350;
+    private static final int ACTIVE_SPECIALIST_PERCENT = 95;
+    private static final int SPECIALIST_SERVICE_PERCENT = 60;
+    private static final int WITHOUT_PATRONYMIC_PERCENT = 5;
+    private static final int PERCENT = 100;
+
+    /** Ближайшие дни, занятость которых не уменьшается */
+    private static final int FULLY_BOOKED_DAYS = 7;
+
+    /** Множители занятости: утро, вечер, понедельник и пятница */
+    private static final LocalTime MORNING_END = LocalTime.NOON;
+    private static final LocalTime EVENING_START = LocalTime.of(16, 0);
+    private static final double MORNING_FACTOR = 1.15;
+    private static final double EVENING_FACTOR = 0.8;
+    private static final double MONDAY_FACTOR = 1.1;
+    private static final double FRIDAY_FACTOR = 0.85;
+
+    /** Поля для хранения настроек, репозитория и кэшей, которые сбрасываются после записи данных */
+    private SyntheticDataProperties properties;
+    private SyntheticDataRepository repository;
+    private EntityManagerFactory entityManagerFactory;
+    private ServiceScheduleIndex serviceScheduleIndex;
+    private ScheduleOccupancyIndex occupancyIndex;
+    private ReferenceResponseCache referenceResponseCache;
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    public SyntheticDataGenerator(
+            SyntheticDataProperties properties,
+            SyntheticDataRepository repository,
+            EntityManagerFactory entityManagerFactory,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ScheduleOccupancyIndex occupancyIndex,
+            ReferenceResponseCache referenceResponseCache,
+            ResourceVersions resourceVersions
+    ) {
+        this.properties = properties;
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.occupancyIndex = occupancyIndex;
+        this.referenceResponseCache = referenceResponseCache;
+        this.resourceVersions = resourceVersions;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate(LocalDate.now());
+    }
+
+    /** Метод для генерации данных с расписаниями вокруг указанной текущей даты */
+    public void generate(final LocalDate today) {
+
+        final List<Integer> organizationIds = repository.findOrganizationIds();
+
+        if (organizationIds.isEmpty()) {
+            log.error(SYNTHETIC_DATA_NO_ORGANIZATIONS_MESSAGE);
+            throw new IllegalArgumentException(SYNTHETIC_DATA_NO_ORGANIZATIONS_MESSAGE);
+        }
+
+        final List<Integer> serviceIds = repository.findActiveServiceIds();
+
+        if (serviceIds.isEmpty()) {
+            log.error(SYNTHETIC_DATA_NO_SERVICES_MESSAGE);
+            throw new IllegalArgumentException(SYNTHETIC_DATA_NO_SERVICES_MESSAGE);
+        }
+
+        final long startNanos = System.nanoTime();
+        final Random random = new Random(properties.getSeed());
+        final List<LocalDate> workdays = workdays(
+                today.minusYears(properties.getYearsBack()).withDayOfYear(1),
+                today.plusYears(properties.getYearsAhead())
+        );
+
+        final long firstChildId = insertChildren(random);
+        final List<SpecialistPlan> plans = planSpecialists(random, organizationIds, serviceIds, workdays, today);
+
+        insertSpecialists(plans);
+
+        final long firstScheduleId = insertSchedules(plans, workdays);
+
+        insertReservations(random, plans, workdays, today, firstScheduleId, firstChildId);
+
+        repository.analyze(Arrays.asList("children", "specialists", "schedules", "services_schedules", "reservations"));
+
+        entityManagerFactory.getCache().evictAll();
+        serviceScheduleIndex.evictAll();
+        occupancyIndex.evictAll();
+        referenceResponseCache.evictAll();
+        resourceVersions.touchAll();
+
+        log.info(
+                "Synthetic data generated in {} s: {} children, {} specialists, {} workdays from {} to {}",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos),
+                properties.getChildren(), plans.size(), workdays.size(),
+                workdays.isEmpty() ? null : workdays.get(0),
+                workdays.isEmpty() ? null : workdays.get(workdays.size() - 1)
+        );
+    }
+
+    /** Служебный метод для записи детей, возвращает идентификатор первого ребенка */
+    private long insertChildren(final Random random) {
+
+        final long firstId = repository.reserveIds("children_id_seq", properties.getChildren());
+
+        timed("children", () -> repository.insert(
+                "children", CHILD_COLUMNS, properties.getBatchSize(), rows -> {
+
+                    for (long id = firstId; id < firstId + properties.getChildren(); id++) {
+
+                        final boolean boy = random.nextBoolean();
+                        final int father = random.nextInt(MALE_PATRONYMICS.length);
+                        final String lastName = randomElement(random, MALE_LAST_NAMES);
+
+                        rows.write(
+                                id,
+                                randomElement(random, BIRTH_CERTIFICATE_ROMAN_SERIES) + "-"
+                                        + randomLetter(random) + randomLetter(random),
+                                MIN_BIRTH_CERTIFICATE_NUMBER + random.nextInt(BIRTH_CERTIFICATE_NUMBERS),
+                                String.format(
+                                        PHONE_FORMAT,
+                                        random.nextInt(PHONE_OPERATOR_CODES),
+                                        random.nextInt(PHONE_NUMBERS)
+                                ),
+                                "parent" + id + "@" + randomElement(random, EMAIL_DOMAINS),
+                                boy ? lastName : lastName + FEMALE_LAST_NAME_ENDING,
+                                randomElement(random, boy ? MALE_FIRST_NAMES : FEMALE_FIRST_NAMES),
+                                random.nextInt(PERCENT) < WITHOUT_PATRONYMIC_PERCENT
+                                        ? null
+                                        : (boy ? MALE_PATRONYMICS : FEMALE_PATRONYMICS)[father]
+                        );
+                    }
+                }
+        ));
+
+        return firstId;
+    }
+
+    /** Служебный метод, выбирающий для специалистов смену, интервал приема, услуги и дни приема */
+    private List<SpecialistPlan> planSpecialists(
+            final Random random,
+            final List<Integer> organizationIds,
+            final List<Integer> serviceIds,
+            final List<LocalDate> workdays,
+            final LocalDate today
+    ) {
+
+        final long firstId = repository.reserveIds("specialists_id_seq", properties.getSpecialists());
+        final List<SpecialistPlan> plans = new ArrayList<>(properties.getSpecialists());
+
+        for (int i = 0; i < properties.getSpecialists(); i++) {
+
+            final SpecialistPlan plan = new SpecialistPlan();
+            final int shift = randomIndex(random, SHIFT_PERCENTS);
+
+            plan.id = firstId + i;
+            plan.name = randomElement(random, MALE_LAST_NAMES) + (random.nextBoolean() ? FEMALE_LAST_NAME_ENDING : "")
+                    + " " + randomLetter(random) + "." + randomLetter(random) + ".";
+            plan.active = random.nextInt(PERCENT) < ACTIVE_SPECIALIST_PERCENT;
+            plan.organizationId = organizationIds.get(random.nextInt(organizationIds.size()));
+            plan.roomNumber = String.valueOf(1 + random.nextInt(ROOMS));
+            plan.startTime = SHIFT_STARTS[shift];
+            plan.endTime = SHIFT_ENDS[shift];
+            plan.interval = INTERVALS[randomIndex(random, INTERVAL_PERCENTS)];
+
+            for (Integer serviceId : serviceIds) {
+                if (random.nextInt(PERCENT) < SPECIALIST_SERVICE_PERCENT) {
+                    plan.serviceIds.add(serviceId);
+                }
+            }
+            if (plan.serviceIds.isEmpty()) {
+                plan.serviceIds.add(serviceIds.get(random.nextInt(serviceIds.size())));
+            }
+
+            for (int day = 0; day < workdays.size(); day++) {
+
+                final boolean absent = random.nextInt(PERCENT) < properties.getAbsencePercent();
+                final boolean dismissed = !plan.active && workdays.get(day).isAfter(today);
+
+                if (!absent && !dismissed) {
+                    plan.days.set(day);
+                }
+            }
+
+            plans.add(plan);
+        }
+
+        return plans;
+    }
+
+    /** Служебный метод для записи специалистов */
+    private void insertSpecialists(final List<SpecialistPlan> plans) {
+
+        timed("specialists", () -> repository.insert(
+                "specialists", SPECIALIST_COLUMNS, properties.getBatchSize(), rows -> plans.forEach(
+                        plan -> rows.write(plan.id, plan.name, plan.active, plan.organizationId)
+                )
+        ));
+    }
+
+    /** Служебный метод для записи расписаний и их услуг, возвращает идентификатор первого расписания */
+    private long insertSchedules(final List<SpecialistPlan> plans, final List<LocalDate> workdays) {
+
+        final long total = plans.stream().mapToLong(plan -> plan.days.cardinality()).sum();
+        final long firstId = repository.reserveIds("schedules_id_seq", total);
+
+        timed("schedules", () -> repository.insert(
+                "schedules", SCHEDULE_COLUMNS, properties.getBatchSize(), rows -> {
+
+                    long id = firstId;
+
+                    for (SpecialistPlan plan : plans) {
+                        for (int day = plan.days.nextSetBit(0); day >= 0; day = plan.days.nextSetBit(day + 1)) {
+                            rows.write(
+                                    id++, plan.id, plan.roomNumber, workdays.get(day),
+                                    plan.startTime, plan.endTime, plan.interval
+                            );
+                        }
+                    }
+                }
+        ));
+
+        timed("services_schedules", () -> repository.insert(
+                "services_schedules", SERVICE_SCHEDULE_COLUMNS, properties.getBatchSize(), rows -> {
+
+                    long id = firstId;
+
+                    for (SpecialistPlan plan : plans) {
+                        for (int day = plan.days.nextSetBit(0); day >= 0; day = plan.days.nextSetBit(day + 1)) {
+
+                            final long scheduleId = id++;
+                            plan.serviceIds.forEach(serviceId -> rows.write(serviceId, scheduleId));
+                        }
+                    }
+                }
+        ));
+
+        return firstId;
+    }
+
+    /** Служебный метод для записи записей на прием с занятостью, зависящей от даты и времени приема */
+    private void insertReservations(
+            final Random random,
+            final List<SpecialistPlan> plans,
+            final List<LocalDate> workdays,
+            final LocalDate today,
+            final long firstScheduleId,
+            final long firstChildId
+    ) {
+
+        if (properties.getChildren() < 1) {
+            return;
+        }
+
+        final long maxCount = plans.stream()
+                .mapToLong(plan -> plan.days.cardinality() * plan.slotsPerDay())
+                .sum();
+        final long firstId = repository.reserveIds("reservations_id_seq", maxCount);
+
+        timed("reservations", () -> repository.insert(
+                "reservations", RESERVATION_COLUMNS, properties.getBatchSize(), rows -> {
+
+                    long id = firstId;
+                    long scheduleId = firstScheduleId;
+
+                    for (SpecialistPlan plan : plans) {
+                        for (int day = plan.days.nextSetBit(0); day >= 0; day = plan.days.nextSetBit(day + 1)) {
+
+                            final LocalDate date = workdays.get(day);
+                            final double dayOccupancy = dayOccupancy(date, today);
+
+                            for (LocalTime time = plan.startTime;
+                                 time.isBefore(plan.endTime);
+                                 time = time.plusMinutes(plan.interval)) {
+
+                                if (random.nextDouble() < dayOccupancy * timeFactor(time)) {
+                                    rows.write(
+                                            id++,
+                                            date.atTime(time),
+                                            scheduleId,
+                                            plan.serviceIds.get(random.nextInt(plan.serviceIds.size())),
+                                            random.nextInt(PERCENT) >= properties.getCancelledPercent(),
+                                            firstChildId + randomChild(random)
+                                    );
+                                }
+                            }
+                            scheduleId++;
+                        }
+                    }
+                }
+        ));
+    }
+
+    /** Служебный метод, возвращающий долю занятого времени приема в указанный день */
+    private double dayOccupancy(final LocalDate date, final LocalDate today) {
+
+        double occupancy = properties.getOccupancyPercent() / Double.valueOf(PERCENT);
+
+        final long daysAhead = ChronoUnit.DAYS.between(today, date) - FULLY_BOOKED_DAYS;
+
+        if (daysAhead > 0) {
+            occupancy *= Math.exp(-daysAhead / Double.valueOf(Math.max(1, properties.getBookingHorizonDays())));
+        }
+
+        if (date.getDayOfWeek() == DayOfWeek.MONDAY) {
+            occupancy *= MONDAY_FACTOR;
+        } else if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+            occupancy *= FRIDAY_FACTOR;
+        }
+
+        return occupancy;
+    }
+
+    private static double timeFactor(final LocalTime time) {
+
+        if (time.isBefore(MORNING_END)) {
+            return MORNING_FACTOR;
+        }
+        return time.isBefore(EVENING_START) ? 1 : EVENING_FACTOR;
+    }
+
+    /** Служебный метод, выбирающий ребенка так, что дети с меньшими номерами записываются чаще */
+    private int randomChild(final Random random) {
+        return random.nextInt(1 + random.nextInt(properties.getChildren()));
+    }
+
+    /** Служебный метод для записи таблицы с замером времени, возвращает количество строк */
+    private static long timed(final String table, final LongSupplier insert) {
+
+        final long startNanos = System.nanoTime();
+        final long count = insert.getAsLong();
+
+        log.info(
+                "Synthetic data: {} rows of {} written in {} ms",
+                count, table, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+
+        return count;
+    }
+
+    private static List<LocalDate> workdays(final LocalDate from, final LocalDate to) {
+
+        final List<LocalDate> workdays = new ArrayList<>();
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                workdays.add(date);
+            }
+        }
+
+        return workdays;
+    }
+
+    /** Служебный метод, выбирающий индекс по долям в процентах */
+    private static int randomIndex(final Random random, final int[] percents) {
+
+        int value = random.nextInt(PERCENT);
+
+        for (int i = 0; i < percents.length - 1; i++) {
+            if (value < percents[i]) {
+                return i;
+            }
+            value -= percents[i];
+        }
+
+        return percents.length - 1;
+    }
+
+    private static String randomElement(final Random random, final String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static char randomLetter(final Random random) {
+        return BIRTH_CERTIFICATE_LETTERS.charAt(random.nextInt(BIRTH_CERTIFICATE_LETTERS.length()));
+    }
+
+    /** План специалиста: его данные, смена, услуги и номера рабочих дней, в которые у него есть расписание */
+    private static final class SpecialistPlan {
+
+        private long id;
+        private String name;
+        private boolean active;
+        private Integer organizationId;
+        private String roomNumber;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private int interval;
+        private final List<Integer> serviceIds = new ArrayList<>();
+        private final BitSet days = new BitSet();
+
+        private long slotsPerDay() {
+            return (ChronoUnit.MINUTES.between(startTime, endTime) + interval - 1) / interval;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package appointments.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки генератора синтетических данных (synthetic-data.*). Генератор включается профилем synthetic-data
+ * или параметрами командной строки: --synthetic-data.enabled=true --synthetic-data.children=5000000
+ *
+ * @author yanchenko_evgeniya
+ */
+@Data
+@Component
+@ConfigurationProperties("synthetic-data")
+public class SyntheticDataProperties {
+
+    private static final int DEFAULT_CHILDREN = 1_000_000;
+    private static final int DEFAULT_SPECIALISTS = 300;
+    private static final int DEFAULT_YEARS_BACK = 2;
+    private static final int DEFAULT_YEARS_AHEAD = 1;
+    private static final int DEFAULT_OCCUPANCY_PERCENT = 80;
+    private static final int DEFAULT_BOOKING_HORIZON_DAYS = 30;
+    private static final int DEFAULT_CANCELLED_PERCENT = 7;
+    private static final int DEFAULT_ABSENCE_PERCENT = 8;
+    private static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final long DEFAULT_SEED = 42;
+
+    /** Признак запуска генератора при старте приложения */
+    private boolean enabled;
+
+    /** Количество детей */
+    private int children = DEFAULT_CHILDREN;
+
+    /** Количество специалистов, у каждого расписания на все рабочие дни периода */
+    private int specialists = DEFAULT_SPECIALISTS;
+
+    /** Количество полных лет расписаний до текущей даты */
+    private int yearsBack = DEFAULT_YEARS_BACK;
+
+    /** Количество лет расписаний после текущей даты */
+    private int yearsAhead = DEFAULT_YEARS_AHEAD;
+
+    /** Доля занятого времени приема в процентах для прошедших дней и ближайшей недели */
+    private int occupancyPercent = DEFAULT_OCCUPANCY_PERCENT;
+
+    /** Количество дней, за которое занятость будущих дней уменьшается в e раз */
+    private int bookingHorizonDays = DEFAULT_BOOKING_HORIZON_DAYS;
+
+    /** Доля отмененных записей на прием в процентах */
+    private int cancelledPercent = DEFAULT_CANCELLED_PERCENT;
+
+    /** Доля рабочих дней в процентах, в которые специалист не принимает (отпуск, болезнь) */
+    private int absencePercent = DEFAULT_ABSENCE_PERCENT;
+
+    /** Количество строк в одном пакете вставки или в одной порции COPY */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Начальное значение генератора случайных чисел, при одинаковых настройках и дате запуска данные одинаковы */
+    private long seed = DEFAULT_SEED;
+}
@@ -0,0 +1,59 @@
+package appointments.config;
+
+import appointments.services.AuthenticationTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Фильтр, восстанавливающий аутентификацию пользователя из заголовка Authorization: Bearer.
+ * Не обращается ни к базе, ни к сессии: все необходимое содержится в подписанном токене.
+ * Запрос с недействительным токеном проходит дальше как анонимный и получает 401 от точки входа;
+ * отказ пишется в журнал на уровне debug, чтобы поток чужих токенов не засорял журнал ошибок.
+ * Не помечен как @Component, чтобы Spring Boot не зарегистрировал его в общей цепочке фильтров сервлета,
+ * фильтр добавляется только в цепочку Spring Security при включенном режиме токенов.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthenticationTokenService authenticationTokenService;
+
+    public TokenAuthenticationFilter(AuthenticationTokenService authenticationTokenService) {
+        this.authenticationTokenService = authenticationTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+
+            final Authentication authentication = authenticationTokenService.parseToken(
+                    header.substring(BEARER_PREFIX.length()).trim()
+            );
+
+            if (authentication == null) {
+                log.debug("Rejected bearer token for {}", request.getRequestURI());
+            } else {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
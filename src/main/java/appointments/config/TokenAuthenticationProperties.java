@@ -0,0 +1,30 @@
+package appointments.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static appointments.utils.Constants.SECURITY_TOKEN_DEFAULT_TTL_MINUTES;
+
+/**
+ * Класс с настройками режима аутентификации по подписанным токенам (security.token.* в application.yml).
+ * В этом режиме приложение не хранит сессии: после входа через /login клиент получает токен
+ * и передает его в заголовке Authorization: Bearer. Приложение по-прежнему рассчитано на один экземпляр,
+ * см. SharedSessionConfig
+ *
+ * @author yanchenko_evgeniya
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.token")
+public class TokenAuthenticationProperties {
+
+    /** Признак включения режима, по умолчанию используется вход через форму с сессией */
+    private boolean enabled;
+
+    /** Секретный ключ подписи токенов HMAC-SHA256 */
+    private String secret;
+
+    /** Время жизни токена в минутах */
+    private long ttlMinutes = SECURITY_TOKEN_DEFAULT_TTL_MINUTES;
+}
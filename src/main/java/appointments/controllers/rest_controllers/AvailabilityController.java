@@ -0,0 +1,52 @@
+package appointments.controllers.rest_controllers;
+
+import appointments.dto.AvailableSlotDTO;
+import appointments.services.AvailabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static appointments.utils.Constants.AVAILABILITY_DEFAULT_LIMIT;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@RestController
+@RequestMapping("/availability")
+public class AvailabilityController {
+
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    public AvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    /** Метод, возвращающий ближайшее свободное время приема по услуге у всех специалистов в указанном периоде */
+    @GetMapping("/first")
+    public ResponseEntity<List<AvailableSlotDTO>> getFirstAvailable(
+            @RequestParam("serviceId") final Integer serviceId,
+
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to,
+
+            @RequestParam(value = "limit", defaultValue = AVAILABILITY_DEFAULT_LIMIT) final int limit
+    ) {
+
+        return new ResponseEntity<>(
+                availabilityService.findFirstAvailable(serviceId, from, to, limit),
+                HttpStatus.OK
+        );
+    }
+}
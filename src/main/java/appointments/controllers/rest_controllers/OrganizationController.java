@@ -1,14 +1,21 @@
 package appointments.controllers.rest_controllers;
 
-import appointments.repos.OrganizationsRepository;
+import appointments.domain.Organization;
+import appointments.services.OrganizationRegistry;
+import appointments.services.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-/** Класс-контроллер для получения организации по-умолчанию
+import static appointments.services.ResourceVersions.Resource.ORGANIZATION;
+
+/** Класс-контроллер для получения организаций.
+ * Организации отдаются из справочника в памяти, без обращения к базе
  *
  * @author yanchenko_evgeniya
  */
@@ -16,19 +23,40 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/organization")
 public class OrganizationController {
 
-    private OrganizationsRepository organizationsRepository;
+    private OrganizationRegistry organizationRegistry;
+
+    private ResourceVersions resourceVersions;
 
     @Autowired
-    public OrganizationController(OrganizationsRepository organizationsRepository) {
-        this.organizationsRepository = organizationsRepository;
+    public OrganizationController(OrganizationRegistry organizationRegistry, ResourceVersions resourceVersions) {
+        this.organizationRegistry = organizationRegistry;
+        this.resourceVersions = resourceVersions;
     }
 
-    /** Метод, возвращающий организацию по-умолчанию */
+    /** Метод, возвращающий организацию по-умолчанию, или 304, если она не изменилась с версии клиента */
     @GetMapping
-    public ResponseEntity<?> getOrganization() {
+    public ResponseEntity<Organization> getOrganization(final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, ORGANIZATION)) {
+            return null;
+        }
+
+        return new ResponseEntity<>(
+                organizationRegistry.getDefaultOrganization(),
+                HttpStatus.OK
+        );
+    }
+
+    /** Метод, возвращающий организацию с указанным идентификатором, или 304, если она не изменилась */
+    @GetMapping("/{id}")
+    public ResponseEntity<Organization> getOrganizationById(@PathVariable Integer id, final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, ORGANIZATION)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
-                organizationsRepository.findAll().get(0),
+                organizationRegistry.findOrganizationById(id),
                 HttpStatus.OK
         );
     }
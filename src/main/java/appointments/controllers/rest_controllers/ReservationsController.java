@@ -1,10 +1,15 @@
 package appointments.controllers.rest_controllers;
 
+import appointments.dto.CursorPageDTO;
 import appointments.dto.ReservationDTO;
 import appointments.services.ReservationsService;
+import appointments.services.ResourceVersions;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,10 +18,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 
+import static appointments.services.ResourceVersions.Resource.RESERVATIONS;
+import static appointments.utils.Constants.CURSOR_PAGE_DEFAULT_SIZE;
+import static appointments.utils.Constants.RESERVATIONS_EXPORT_TIMEOUT_MILLIS;
+
 /**
  * @author yanchenko_evgeniya
  */
@@ -26,14 +41,43 @@ public class ReservationsController {
 
     private ReservationsService reservationsService;
 
+    private ObjectMapper objectMapper;
+
+    private ResourceVersions resourceVersions;
+
     @Autowired
-    public ReservationsController(ReservationsService reservationsService) {
+    public ReservationsController(
+            ReservationsService reservationsService,
+            ObjectMapper objectMapper,
+            ResourceVersions resourceVersions
+    ) {
         this.reservationsService = reservationsService;
+        this.objectMapper = objectMapper;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /** Метод, возвращающий все записи на прием во всех расписаниях.
+     * Записи выгружаются потоком по мере чтения из базы, не накапливаясь в памяти, в асинхронной задаче
+     * с собственным увеличенным таймаутом. Если записи не изменились с версии клиента,
+     * возвращается 304 без обращения к базе */
+    @GetMapping(params = {"!date", "!startDate", "!endDate"})
+    public WebAsyncTask<Void> getAllReservations(final WebRequest request, final HttpServletResponse response) {
+
+        if (resourceVersions.checkNotModified(request, RESERVATIONS)) {
+            return null;
+        }
+
+        return new WebAsyncTask<>(RESERVATIONS_EXPORT_TIMEOUT_MILLIS, () -> {
+
+            response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            exportAllReservations(response.getOutputStream());
+            return null;
+        });
     }
 
-    /** Метод, возвращающий все записи на прием во всех расписаниях */
+    /** Метод, возвращающий записи на прием за дату или за период */
     @GetMapping
-    public ResponseEntity<?> getAllReservations(
+    public ResponseEntity<?> getReservations(
             @RequestParam(value = "date", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
 
@@ -41,9 +85,15 @@ public class ReservationsController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
 
             @RequestParam(value = "endDate", required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            final WebRequest request
     ) {
 
+        if (resourceVersions.checkNotModified(request, RESERVATIONS)) {
+            return null;
+        }
+
         return new ResponseEntity<>(
                 reservationsService.getReservations(date, startDate, endDate),
                 HttpStatus.OK
@@ -51,9 +101,31 @@ public class ReservationsController {
     }
 
 
+    /** Метод, возвращающий страницу записей на прием, следующую за курсором, в порядке времени приема */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ReservationDTO>> getReservationsPage(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", defaultValue = CURSOR_PAGE_DEFAULT_SIZE) final int size,
+            final WebRequest request
+    ) {
+
+        if (resourceVersions.checkNotModified(request, RESERVATIONS)) {
+            return null;
+        }
+
+        return new ResponseEntity<>(
+                reservationsService.getReservationsAfter(cursor, size),
+                HttpStatus.OK
+        );
+    }
+
     /** Метод, возвращающий одну запись на прием, найденную по указанному идентификатору */
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationDTO> getReservationById(@PathVariable Long id) {
+    public ResponseEntity<ReservationDTO> getReservationById(@PathVariable Long id, final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, RESERVATIONS)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 reservationsService.findReservationById(id),
@@ -70,4 +142,30 @@ public class ReservationsController {
                 HttpStatus.CREATED
         );
     }
+
+    /** Служебный метод, записывающий все записи на прием в ответ JSON-массивом по мере чтения из базы.
+     * Генератор закрывается, не закрывая поток ответа; при ошибке массив не дописывается, чтобы
+     * оборванная выгрузка не выглядела полной */
+    private void exportAllReservations(final OutputStream outputStream) throws IOException {
+
+        try (JsonGenerator generator = objectMapper
+                .getFactory()
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+
+            generator.writeStartArray();
+            reservationsService.exportReservations(reservationDTO -> writeReservation(generator, reservationDTO));
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeReservation(JsonGenerator generator, ReservationDTO reservationDTO) {
+
+        try {
+            generator.writeObject(reservationDTO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
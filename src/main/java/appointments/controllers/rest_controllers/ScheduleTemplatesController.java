@@ -0,0 +1,79 @@
+package appointments.controllers.rest_controllers;
+
+import appointments.dto.ScheduleMaterializationDTO;
+import appointments.dto.ScheduleTemplateDTO;
+import appointments.services.ScheduleTemplatesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@RestController
+@RequestMapping("/schedule-templates")
+public class ScheduleTemplatesController {
+
+
+    private ScheduleTemplatesService scheduleTemplatesService;
+
+    @Autowired
+    public ScheduleTemplatesController(ScheduleTemplatesService scheduleTemplatesService) {
+        this.scheduleTemplatesService = scheduleTemplatesService;
+    }
+
+    /** Метод, возвращающий все шаблоны расписаний */
+    @GetMapping
+    public ResponseEntity<List<ScheduleTemplateDTO>> getAllTemplates() {
+
+        return new ResponseEntity<>(
+                scheduleTemplatesService.getTemplates(),
+                HttpStatus.OK
+        );
+    }
+
+    /** Метод, осуществляющий добавление нового шаблона расписания */
+    @PostMapping
+    public ResponseEntity<?> addNewTemplate(@Valid @RequestBody ScheduleTemplateDTO scheduleTemplateDTO) {
+
+        return new ResponseEntity<>(
+                scheduleTemplatesService.addTemplate(scheduleTemplateDTO),
+                HttpStatus.CREATED
+        );
+    }
+
+    /** Метод, осуществляющий удаление шаблона расписания с указанным идентификатором */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteTemplateById(@PathVariable Integer id) {
+
+        scheduleTemplatesService.removeTemplate(id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Метод, создающий по всем шаблонам расписания на указанное количество недель начиная с указанной даты */
+    @PostMapping("/materialize")
+    public ResponseEntity<ScheduleMaterializationDTO> materializeSchedules(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+            @RequestParam final int weeks
+    ) {
+
+        return new ResponseEntity<>(
+                scheduleTemplatesService.materializeSchedules(startDate, weeks),
+                HttpStatus.CREATED
+        );
+    }
+}
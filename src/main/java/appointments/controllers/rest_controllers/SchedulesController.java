@@ -1,6 +1,9 @@
 package appointments.controllers.rest_controllers;
 
+import appointments.dto.CursorPageDTO;
+import appointments.dto.FreeSlotsDTO;
 import appointments.dto.ScheduleDTO;
+import appointments.services.ResourceVersions;
 import appointments.services.SchedulesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -8,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,9 +20,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+
+import static appointments.services.ResourceVersions.Resource.SCHEDULES;
+import static appointments.utils.Constants.CURSOR_PAGE_DEFAULT_SIZE;
+import static java.util.stream.Collectors.joining;
 
 /**
  * @author yanchenko_evgeniya
@@ -30,27 +41,59 @@ public class SchedulesController {
 
     private SchedulesService schedulesService;
 
+    private ResourceVersions resourceVersions;
+
     @Autowired
-    public SchedulesController(SchedulesService schedulesService) {
+    public SchedulesController(SchedulesService schedulesService, ResourceVersions resourceVersions) {
         this.schedulesService = schedulesService;
+        this.resourceVersions = resourceVersions;
     }
 
-    /** Метод, возвращающий все расписания */
+    /** Метод, возвращающий все расписания, или 304, если расписания не изменились с версии клиента */
     @GetMapping
     public ResponseEntity<Page<ScheduleDTO>> getAllSchedules(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date,
-            Pageable pageable
+            Pageable pageable,
+            final WebRequest request
     ) {
 
+        if (resourceVersions.checkNotModified(request, SCHEDULES)) {
+            return null;
+        }
+
         return new ResponseEntity<>(
                 schedulesService.getSchedules(pageable, date),
                 HttpStatus.OK
         );
     }
 
+    /** Метод, возвращающий страницу расписаний на дату, следующую за курсором,
+     * или 304, если расписания не изменились с версии клиента */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ScheduleDTO>> getSchedulesPage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", defaultValue = CURSOR_PAGE_DEFAULT_SIZE) final int size,
+            final WebRequest request
+    ) {
+
+        if (resourceVersions.checkNotModified(request, SCHEDULES)) {
+            return null;
+        }
+
+        return new ResponseEntity<>(
+                schedulesService.getSchedulesAfter(date, cursor, size),
+                HttpStatus.OK
+        );
+    }
+
     /** Метод, возвращающий одно расписание, найденное по указанному идентификатору */
     @GetMapping("/{id}")
-    public ResponseEntity<ScheduleDTO> getScheduleById(@PathVariable Long id) {
+    public ResponseEntity<ScheduleDTO> getScheduleById(@PathVariable Long id, final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, SCHEDULES)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 schedulesService.findScheduleById(id),
@@ -58,6 +101,38 @@ public class SchedulesController {
         );
     }
 
+    /** Метод, возвращающий свободное время приема в расписании с указанным идентификатором.
+     * Если набор свободного времени не изменился с прошлого запроса (заголовок If-None-Match), возвращается 304 */
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<FreeSlotsDTO> getFreeSlots(@PathVariable Long id) {
+
+        final FreeSlotsDTO freeSlots = schedulesService.getFreeSlots(id);
+
+        return ResponseEntity
+                .ok()
+                .eTag(freeSlots.getVersion())
+                .body(freeSlots);
+    }
+
+    /** Метод, возвращающий свободное время приема во всех расписаниях на указанную дату */
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlotsDTO>> getFreeSlotsByDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date
+    ) {
+
+        final List<FreeSlotsDTO> freeSlots = schedulesService.getFreeSlotsByDate(date);
+
+        final String version = freeSlots
+                .stream()
+                .map(FreeSlotsDTO::getVersion)
+                .collect(joining(","));
+
+        return ResponseEntity
+                .ok()
+                .eTag(DigestUtils.md5DigestAsHex((date + ":" + version).getBytes(StandardCharsets.UTF_8)))
+                .body(freeSlots);
+    }
+
     /** Метод, осуществляющий удаление расписания с указанным идентификатором */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteScheduleById(@PathVariable Long id) {
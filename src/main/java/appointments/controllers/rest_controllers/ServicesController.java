@@ -2,9 +2,12 @@ package appointments.controllers.rest_controllers;
 
 import appointments.domain.Service;
 import appointments.dto.ActiveDTO;
+import appointments.services.ReferenceResponseCache.CachedResponse;
+import appointments.services.ResourceVersions;
 import appointments.services.ServicesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,10 +17,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
+import static appointments.services.ResourceVersions.Resource.SERVICES;
+
 /** Класс-контроллер для справочника Услуги
  *
  * @author yanchenko_evgeniya
@@ -28,15 +34,22 @@ public class ServicesController {
 
     private ServicesService servicesService;
 
+    private ResourceVersions resourceVersions;
+
     @Autowired
-    public ServicesController(ServicesService servicesService) {
+    public ServicesController(ServicesService servicesService, ResourceVersions resourceVersions) {
         this.servicesService = servicesService;
+        this.resourceVersions = resourceVersions;
     }
 
 
-    /** Метод, возвращающий все услуги */
+    /** Метод, возвращающий все услуги, или 304, если справочник не изменился с версии клиента */
     @GetMapping
-    public ResponseEntity<List<Service>> getAllServices() {
+    public ResponseEntity<List<Service>> getAllServices(final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, SERVICES)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 servicesService.getServices(),
@@ -44,19 +57,28 @@ public class ServicesController {
         );
     }
 
-    /** Метод, возвращающий только активные услуги */
+    /** Метод, возвращающий только активные услуги.
+     * Тело ответа берется готовым из кэша и записывается в поток как есть,
+     * при совпадении заголовка If-None-Match с ETag возвращается 304 */
     @GetMapping("/active")
-    public ResponseEntity<List<Service>> getActiveServices() {
+    public ResponseEntity<byte[]> getActiveServices() {
 
-        return new ResponseEntity<>(
-                servicesService.getActiveServices(),
-                HttpStatus.OK
-        );
+        final CachedResponse response = servicesService.getActiveServicesResponse();
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .eTag(response.getETag())
+                .body(response.getBody());
     }
 
     /** Метод, возвращающий одну услугу, найденную по указанному идентификатору услуги */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getServiceById(@PathVariable Integer id) {
+    public ResponseEntity<?> getServiceById(@PathVariable Integer id, final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, SERVICES)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 servicesService.findServiceById(id),
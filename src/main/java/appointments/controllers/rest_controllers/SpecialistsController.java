@@ -2,9 +2,12 @@ package appointments.controllers.rest_controllers;
 
 import appointments.dto.ActiveDTO;
 import appointments.dto.SpecialistDTO;
+import appointments.services.ReferenceResponseCache.CachedResponse;
+import appointments.services.ResourceVersions;
 import appointments.services.SpecialistsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +18,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
+import static appointments.services.ResourceVersions.Resource.SPECIALISTS;
+
 /** Класс-контроллер для справочника Специалисты
  *
  * @author yanchenko_evgeniya
@@ -29,16 +35,23 @@ public class SpecialistsController {
 
     private SpecialistsService specialistsService;
 
+    private ResourceVersions resourceVersions;
+
 
     @Autowired
-    public SpecialistsController(SpecialistsService specialistsService) {
+    public SpecialistsController(SpecialistsService specialistsService, ResourceVersions resourceVersions) {
         this.specialistsService = specialistsService;
+        this.resourceVersions = resourceVersions;
     }
 
 
-    /** Метод, возвращающий всех специалистов */
+    /** Метод, возвращающий всех специалистов, или 304, если справочник не изменился с версии клиента */
     @GetMapping
-    public ResponseEntity<List<SpecialistDTO>> getAllSpecialists() {
+    public ResponseEntity<List<SpecialistDTO>> getAllSpecialists(final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, SPECIALISTS)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 specialistsService.getSpecialists(),
@@ -46,19 +59,28 @@ public class SpecialistsController {
         );
     }
 
-    /** Метод, возвращающий только активных специалистов */
+    /** Метод, возвращающий только активных специалистов.
+     * Тело ответа берется готовым из кэша и записывается в поток как есть,
+     * при совпадении заголовка If-None-Match с ETag возвращается 304 */
     @GetMapping("/active")
-    public ResponseEntity<List<SpecialistDTO>> getActiveSpecialists() {
+    public ResponseEntity<byte[]> getActiveSpecialists() {
 
-        return new ResponseEntity<>(
-                specialistsService.getActiveSpecialists(),
-                HttpStatus.OK
-        );
+        final CachedResponse response = specialistsService.getActiveSpecialistsResponse();
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .eTag(response.getETag())
+                .body(response.getBody());
     }
 
     /** Метод, возвращающий одного специалиста, найденного по указанному идентификатору */
     @GetMapping("/{id}")
-    public ResponseEntity<SpecialistDTO> getSpecialistById(@PathVariable Integer id) {
+    public ResponseEntity<SpecialistDTO> getSpecialistById(@PathVariable Integer id, final WebRequest request) {
+
+        if (resourceVersions.checkNotModified(request, SPECIALISTS)) {
+            return null;
+        }
 
         return new ResponseEntity<>(
                 specialistsService.findSpecialistById(id),
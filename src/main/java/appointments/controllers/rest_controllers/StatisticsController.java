@@ -0,0 +1,36 @@
+package appointments.controllers.rest_controllers;
+
+import appointments.dto.CacheStatisticsDTO;
+import appointments.services.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Класс-контроллер для получения статистики работы приложения
+ *
+ * @author yanchenko_evgeniya
+ */
+@RestController
+@RequestMapping("/statistics")
+public class StatisticsController {
+
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public StatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /** Метод, возвращающий количество попаданий и промахов кэша второго уровня и кэша запросов */
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatisticsDTO> getCacheStatistics() {
+
+        return new ResponseEntity<>(
+                cacheStatisticsService.getCacheStatistics(),
+                HttpStatus.OK
+        );
+    }
+}
@@ -10,6 +10,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.Max;
@@ -34,6 +35,7 @@ import static appointments.utils.Constants.CHILD_WRONG_LAST_NAME_LENGTH;
 import static appointments.utils.Constants.CHILD_WRONG_NUMBER_LENGTH;
 import static appointments.utils.Constants.CHILD_WRONG_PHONE_MESSAGE;
 import static appointments.utils.Constants.CHILD_WRONG_SERIES_LENGTH;
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 
 
 /**
@@ -52,7 +54,12 @@ import static appointments.utils.Constants.CHILD_WRONG_SERIES_LENGTH;
 public class Child {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "children_id_seq")
+    @SequenceGenerator(
+            name = "children_id_seq",
+            sequenceName = "children_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Integer id;
 
@@ -12,10 +12,13 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 import static appointments.utils.Constants.RESERVATION_EMPTY_CHILD_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_EMPTY_SCHEDULE_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_EMPTY_SERVICE_MESSAGE;
@@ -34,7 +37,15 @@ import static appointments.utils.Constants.RESERVATION_INCORRECT_DATETIME_MESSAG
  * @author yanchenko_evgeniya
  */
 @Entity
-@Table(name = "reservations")
+@Table(
+        name = "reservations",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "reservations_schedule_id_date_time_key",
+                        columnNames = {"schedule_id", "date_time"}
+                )
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,7 +53,12 @@ import static appointments.utils.Constants.RESERVATION_INCORRECT_DATETIME_MESSAG
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_id_seq")
+    @SequenceGenerator(
+            name = "reservations_id_seq",
+            sequenceName = "reservations_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Long id;
 
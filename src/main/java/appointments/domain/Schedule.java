@@ -18,6 +18,7 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -26,6 +27,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_END_TIME_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_INTERVAL_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE;
@@ -67,7 +69,12 @@ public class Schedule {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedules_id_seq")
+    @SequenceGenerator(
+            name = "schedules_id_seq",
+            sequenceName = "schedules_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Long id;
 
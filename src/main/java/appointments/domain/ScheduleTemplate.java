@@ -0,0 +1,145 @@
+package appointments.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.validator.constraints.Range;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_END_TIME_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_INTERVAL_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_SERVICES_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_SPECIALIST_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_START_TIME_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_MAX_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MAX_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MIN_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MIN_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_WRONG_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_WRONG_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.TEMPLATE_EMPTY_DAYS_MESSAGE;
+
+
+/**
+ * Класс, описывающий сущность Шаблон расписания, по которому расписания создаются сразу на несколько недель.
+ * Содержит:
+ * - ссылку на специалиста, для которого создаются расписания;
+ * - дни недели, в которые ведется прием;
+ * - номер кабинета;
+ * - список услуг (объекты Service), доступных в создаваемых расписаниях
+ * - время начала приема
+ * - время окончания приема
+ * - длительность приема одного талона
+ *
+ * @author yanchenko_evgeniya
+ */
+@Entity
+@Table(name = "schedule_templates")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@ToString
+public class ScheduleTemplate {
+
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_templates_id_seq")
+    @SequenceGenerator(
+            name = "schedule_templates_id_seq",
+            sequenceName = "schedule_templates_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
+    @Column
+    private Integer id;
+
+
+    /** Ссылка на специалиста, для которого создаются расписания */
+    @NotNull(message = SCHEDULE_EMPTY_SPECIALIST_MESSAGE)
+    @ManyToOne
+    @JoinColumn(name = "specialist_id")
+    private Specialist specialist;
+
+
+    /** Дни недели, в которые ведется прием */
+    @NotEmpty(message = TEMPLATE_EMPTY_DAYS_MESSAGE)
+    @ElementCollection
+    @CollectionTable(name = "schedule_templates_days", joinColumns = @JoinColumn(name = "template_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week")
+    private Set<DayOfWeek> daysOfWeek;
+
+
+    /** Номер кабинета */
+    @NotEmpty(message = SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE)
+    @Size(
+            min = SCHEDULE_MIN_ROOM_NUMBER_LENGTH,
+            max = SCHEDULE_MAX_ROOM_NUMBER_LENGTH,
+            message = SCHEDULE_WRONG_ROOM_NUMBER_LENGTH
+    )
+    @Column(name = "room_number")
+    private String roomNumber;
+
+
+    /** Список услуг (ссылки на объекты Услуг), которые будут доступны в создаваемых расписаниях */
+    @NotNull(message = SCHEDULE_EMPTY_SERVICES_MESSAGE)
+    @ManyToMany
+    @JoinTable(
+            name = "services_schedule_templates",
+            joinColumns = @JoinColumn(name = "template_id"),
+            inverseJoinColumns = @JoinColumn(name = "service_id")
+    )
+    private List<Service> services;
+
+
+    /** Время начала приема */
+    @NotNull(message = SCHEDULE_EMPTY_START_TIME_MESSAGE)
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+
+    /** Время окончания приема */
+    @NotNull(message = SCHEDULE_EMPTY_END_TIME_MESSAGE)
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+
+    /** Длительность/Интервал приема одного талона в минутах*/
+    @NotNull(message = SCHEDULE_EMPTY_INTERVAL_MESSAGE)
+    @Range(
+            min = SCHEDULE_MIN_INTERVAL_LENGTH,
+            max = SCHEDULE_MAX_INTERVAL_LENGTH,
+            message = SCHEDULE_WRONG_INTERVAL_LENGTH
+    )
+    @Column(name = "interval_of_reception")
+    private Integer intervalOfReception;
+
+}
@@ -4,16 +4,21 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Size;
 
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 import static appointments.utils.Constants.SERVICE_MAX_NAME_LENGTH;
 import static appointments.utils.Constants.SERVICE_MIN_NAME_LENGTH;
 import static appointments.utils.Constants.SERVICE_NULL_NAME_MESSAGE;
@@ -29,6 +34,8 @@ import static appointments.utils.Constants.SERVICE_WRONG_LENGTH_MESSAGE;
 
 @Entity
 @Table(name = "services")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,7 +43,12 @@ import static appointments.utils.Constants.SERVICE_WRONG_LENGTH_MESSAGE;
 public class Service {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "services_id_seq")
+    @SequenceGenerator(
+            name = "services_id_seq",
+            sequenceName = "services_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Integer id;
 
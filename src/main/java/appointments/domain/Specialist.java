@@ -4,7 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -12,11 +15,13 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 import static appointments.utils.Constants.SPECIALIST_EMPTY_NAME_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_EMPTY_ORGANIZATION_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_MAX_NAME_LENGTH;
@@ -33,6 +38,8 @@ import static appointments.utils.Constants.SPECIALIST_WRONG_NAME_LENGTH;
  */
 @Entity
 @Table(name = "specialists")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,7 +47,12 @@ import static appointments.utils.Constants.SPECIALIST_WRONG_NAME_LENGTH;
 public class Specialist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "specialists_id_seq")
+    @SequenceGenerator(
+            name = "specialists_id_seq",
+            sequenceName = "specialists_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Integer id;
 
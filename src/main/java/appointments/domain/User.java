@@ -12,6 +12,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.Email;
@@ -19,6 +20,7 @@ import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
+import static appointments.utils.Constants.ID_ALLOCATION_SIZE;
 import static appointments.utils.Constants.USER_EMPTY_EMAIL_MESSAGE;
 import static appointments.utils.Constants.USER_EMPTY_FIRST_NAME_MESSAGE;
 import static appointments.utils.Constants.USER_EMPTY_LAST_NAME_MESSAGE;
@@ -47,7 +49,12 @@ import static appointments.utils.Constants.USER_WRONG_USERNAME_LENGTH;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(
+            name = "users_id_seq",
+            sequenceName = "users_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     @Column
     private Integer id;
 
@@ -0,0 +1,22 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthenticationTokenDTO {
+
+    /** Подписанный токен для заголовка Authorization: Bearer */
+    private String token;
+
+    /** Время, после которого токен перестает приниматься */
+    private Instant expiresAt;
+}
@@ -0,0 +1,25 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+
+    /** Идентификатор расписания (объект Schedule), в котором свободно это время */
+    private Long scheduleId;
+
+    /** Идентификатор специалиста (объект Specialist), ведущего прием */
+    private Integer specialistId;
+
+    /** Дата и время начала приема, которые можно указать при записи на прием */
+    private LocalDateTime dateTime;
+}
@@ -0,0 +1,26 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatisticsDTO {
+
+    /** Название региона кэша (для сущностей - полное имя класса) */
+    private String region;
+
+    /** Количество попаданий в регион кэша */
+    private long hitCount;
+
+    /** Количество промахов региона кэша */
+    private long missCount;
+
+    /** Количество записей, помещенных в регион кэша */
+    private long putCount;
+}
@@ -0,0 +1,34 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+
+    /** Количество попаданий в кэш второго уровня по всем регионам */
+    private long secondLevelCacheHitCount;
+
+    /** Количество промахов кэша второго уровня по всем регионам */
+    private long secondLevelCacheMissCount;
+
+    /** Количество попаданий в кэш запросов */
+    private long queryCacheHitCount;
+
+    /** Количество промахов кэша запросов */
+    private long queryCacheMissCount;
+
+    /** Количество выполненных запросов к базе */
+    private long queryExecutionCount;
+
+    /** Статистика по отдельным регионам кэша */
+    private List<CacheRegionStatisticsDTO> regions;
+}
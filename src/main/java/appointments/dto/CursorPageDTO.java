@@ -0,0 +1,24 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница постраничного вывода с курсором
+ *
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /** Элементы страницы */
+    private List<T> content;
+
+    /** Курсор для получения следующей страницы, null - если страница последняя */
+    private String nextCursor;
+}
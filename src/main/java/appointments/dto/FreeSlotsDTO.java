@@ -0,0 +1,32 @@
+package appointments.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsDTO {
+
+    /** Идентификатор расписания (объект Schedule) */
+    private Long scheduleId;
+
+    /** Дата приема */
+    private LocalDate date;
+
+    /** Свободные дата и время начала приема, которые можно указать при записи на прием */
+    private List<LocalDateTime> freeSlots;
+
+    /** Версия набора свободного времени, используется как ETag ответа */
+    @JsonIgnore
+    private String version;
+}
@@ -0,0 +1,28 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleMaterializationDTO {
+
+    /** Первая дата, на которую создавались расписания */
+    private LocalDate startDate;
+
+    /** Последняя дата, на которую создавались расписания */
+    private LocalDate endDate;
+
+    /** Количество созданных расписаний */
+    private int createdSchedules;
+
+    /** Количество расписаний, не созданных из-за пересечения с уже занятыми часами приема специалиста */
+    private int skippedSchedules;
+}
@@ -0,0 +1,87 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static appointments.utils.Constants.SCHEDULE_EMPTY_END_TIME_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_INTERVAL_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_SERVICES_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_SPECIALIST_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_EMPTY_START_TIME_MESSAGE;
+import static appointments.utils.Constants.SCHEDULE_MAX_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MAX_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MIN_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_MIN_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_WRONG_INTERVAL_LENGTH;
+import static appointments.utils.Constants.SCHEDULE_WRONG_ROOM_NUMBER_LENGTH;
+import static appointments.utils.Constants.TEMPLATE_EMPTY_DAYS_MESSAGE;
+
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleTemplateDTO {
+
+    /** Индентификатор шаблона: null для нового, not null для существующего */
+    private Integer id;
+
+
+    /** Специалист, для которого создаются расписания */
+    @NotNull(message = SCHEDULE_EMPTY_SPECIALIST_MESSAGE)
+    private SpecialistSimpleDTO specialist;
+
+
+    /** Номер кабинета */
+    @NotEmpty(message = SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE)
+    @Size(
+            min = SCHEDULE_MIN_ROOM_NUMBER_LENGTH,
+            max = SCHEDULE_MAX_ROOM_NUMBER_LENGTH,
+            message = SCHEDULE_WRONG_ROOM_NUMBER_LENGTH
+    )
+    private String roomNumber;
+
+
+    /** Дни недели, в которые ведется прием */
+    @NotEmpty(message = TEMPLATE_EMPTY_DAYS_MESSAGE)
+    private Set<DayOfWeek> daysOfWeek;
+
+
+    /** Список услуг, которые будут доступны в создаваемых расписаниях */
+    @NotNull(message = SCHEDULE_EMPTY_SERVICES_MESSAGE)
+    private List<ServiceSimpleDTO> services;
+
+
+    /** Время начала приема */
+    @NotNull(message = SCHEDULE_EMPTY_START_TIME_MESSAGE)
+    private LocalTime startTime;
+
+
+    /** Время окончания приема */
+    @NotNull(message = SCHEDULE_EMPTY_END_TIME_MESSAGE)
+    private LocalTime endTime;
+
+
+    /** Длительность/Интервал приема одного талона в минутах*/
+    @NotNull(message = SCHEDULE_EMPTY_INTERVAL_MESSAGE)
+    @Range(
+            min = SCHEDULE_MIN_INTERVAL_LENGTH,
+            max = SCHEDULE_MAX_INTERVAL_LENGTH,
+            message = SCHEDULE_WRONG_INTERVAL_LENGTH
+    )
+    private Integer interval;
+
+}
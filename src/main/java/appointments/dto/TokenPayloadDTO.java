@@ -0,0 +1,25 @@
+package appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenPayloadDTO {
+
+    /** Имя учетной записи */
+    private String sub;
+
+    /** Роли пользователя на момент выдачи токена */
+    private List<String> roles;
+
+    /** Время окончания действия токена в секундах от начала эпохи */
+    private long exp;
+}
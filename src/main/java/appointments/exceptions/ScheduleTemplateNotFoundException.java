@@ -0,0 +1,19 @@
+package appointments.exceptions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Класс-исключение,
+ * возникающее, если при поиске шаблона расписания он не был найден
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+public class ScheduleTemplateNotFoundException extends EntityNotFoundException {
+
+    public ScheduleTemplateNotFoundException(String message) {
+
+        super(message);
+        log.error(message);
+    }
+}
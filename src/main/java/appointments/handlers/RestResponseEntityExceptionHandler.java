@@ -3,8 +3,12 @@ package appointments.handlers;
 import appointments.dto.UserDTO;
 import appointments.exceptions.EntityDependencyException;
 import appointments.exceptions.EntityNotFoundException;
+import appointments.exceptions.ReservationAlreadyExistsException;
 import appointments.exceptions.UserAlreadyExistsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.util.Map;
 
+import static appointments.utils.Constants.METRIC_ERRORS;
 import static java.util.stream.Collectors.toMap;
 
 /** Класс для обработки исключений, возникающих при работе приложения
@@ -30,12 +35,24 @@ import static java.util.stream.Collectors.toMap;
 @ControllerAdvice
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
+    /** Счетчики ошибок по типам: занятое время записи, некорректные входные данные, отсутствующий ресурс */
+    private final Counter bookingConflicts;
+    private final Counter validationFailures;
+    private final Counter notFound;
+
+    @Autowired
+    public RestResponseEntityExceptionHandler(MeterRegistry meterRegistry) {
+        this.bookingConflicts = meterRegistry.counter(METRIC_ERRORS, "type", "booking_conflict");
+        this.validationFailures = meterRegistry.counter(METRIC_ERRORS, "type", "validation");
+        this.notFound = meterRegistry.counter(METRIC_ERRORS, "type", "not_found");
+    }
 
     /** Метод, реализующий обработку исключений, возникающих при некорректных входных данных*/
     @ExceptionHandler({IllegalArgumentException.class})
     protected ResponseEntity<String> handleIllegalArgumentException(Exception e) {
 
         log.error(e.getMessage());
+        validationFailures.increment();
 
         return new ResponseEntity<>(
                 e.getMessage(),
@@ -49,6 +66,12 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
 
         log.error(e.getMessage());
 
+        if (e instanceof ReservationAlreadyExistsException) {
+            bookingConflicts.increment();
+        } else {
+            notFound.increment();
+        }
+
         return new ResponseEntity<>(
                 e.getMessage(),
                 HttpStatus.NOT_FOUND
@@ -88,6 +111,7 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
                 );
 
         log.error(exception.getMessage());
+        validationFailures.increment();
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
@@ -3,10 +3,10 @@ package appointments.mappers;
 import appointments.domain.Reservation;
 import appointments.domain.Schedule;
 import appointments.dto.ScheduleDTO;
+import appointments.repos.SchedulesRepository.ScheduleView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
-import org.springframework.data.domain.Page;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +26,17 @@ public interface ScheduleMapper {
     ScheduleDTO scheduleToScheduleDto(Schedule entity);
 
 
+    /** Преобразование плоской строки расписания, списки услуг и записей на прием заполняются отдельно */
+    @Mappings({
+            @Mapping(source = "specialistId", target = "specialist.id"),
+            @Mapping(source = "specialistName", target = "specialist.name"),
+            @Mapping(source = "intervalOfReception", target = "interval"),
+            @Mapping(target = "services", ignore = true),
+            @Mapping(target = "reservationIds", ignore = true)
+    })
+    ScheduleDTO scheduleViewToScheduleDto(ScheduleView view);
+
+
     @Mappings({
             @Mapping(source = "reservationIds", target = "reservations"),
             @Mapping(source = "interval", target = "intervalOfReception")
@@ -33,10 +44,6 @@ public interface ScheduleMapper {
     Schedule scheduleDTOToSchedule(ScheduleDTO dto);
 
 
-    default Page<ScheduleDTO> schedulePageToScheduleDTOPage(Page<Schedule> page) {
-        return page.map(this::scheduleToScheduleDto);
-    }
-
     List<Schedule> scheduleDTOListToScheduleList(List<ScheduleDTO> list);
 
 
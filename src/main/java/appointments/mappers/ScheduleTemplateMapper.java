@@ -0,0 +1,33 @@
+package appointments.mappers;
+
+import appointments.domain.ScheduleTemplate;
+import appointments.dto.ScheduleTemplateDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+
+import java.util.List;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@Mapper(componentModel = "spring")
+public interface ScheduleTemplateMapper {
+
+    @Mappings({
+            @Mapping(source = "intervalOfReception", target = "interval")
+    })
+    ScheduleTemplateDTO scheduleTemplateToScheduleTemplateDTO(ScheduleTemplate entity);
+
+
+    @Mappings({
+            @Mapping(source = "interval", target = "intervalOfReception"),
+            @Mapping(target = "specialist", ignore = true),
+            @Mapping(target = "services", ignore = true)
+    })
+    ScheduleTemplate scheduleTemplateDTOToScheduleTemplate(ScheduleTemplateDTO dto);
+
+
+    List<ScheduleTemplateDTO> scheduleTemplateListToScheduleTemplateDTOList(List<ScheduleTemplate> list);
+
+}
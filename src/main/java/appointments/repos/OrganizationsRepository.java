@@ -4,6 +4,7 @@ import appointments.domain.Organization;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,4 +18,6 @@ public interface OrganizationsRepository extends JpaRepository<Organization, Int
 
     Optional<Organization> findOneByName(String name);
 
+    List<Organization> findAllByOrderById();
+
 }
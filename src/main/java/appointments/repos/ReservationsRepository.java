@@ -2,17 +2,84 @@ package appointments.repos;
 
 import appointments.domain.Reservation;
 import appointments.domain.Schedule;
+import appointments.dto.ReservationDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 /**
  *  Класс-репозиторий, реализующий действия с объектами Запись на прием (бронь):
- *  добавление, поиск, удаление
+ *  добавление, поиск, удаление, поиск по дате и за период (по дате расписания),
+ *  потоковое чтение всех записей
  *
  * @author yanchenko_evgeniya
  */
 @Repository
 public interface ReservationsRepository extends JpaRepository<Reservation, Long> {
 
+    /** Выборка записей на прием сразу в виде DTO, без создания управляемых сущностей */
+    String SELECT_DTO = "select new appointments.dto.ReservationDTO("
+            + "r.id, r.dateTime, r.schedule.id, r.service.id, r.active, r.child.id"
+            + ") from Reservation r";
+
     boolean existsBySchedule(Schedule schedule);
+
+    @Query(SELECT_DTO + " where r.schedule.date = :date order by r.dateTime")
+    List<ReservationDTO> findAllAsDTOByScheduleDate(@Param("date") LocalDate date);
+
+    @Query(SELECT_DTO + " where r.schedule.date between :startDate and :endDate order by r.dateTime")
+    List<ReservationDTO> findAllAsDTOByScheduleDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query(SELECT_DTO + " order by r.dateTime, r.id")
+    List<ReservationDTO> findAllAsDTOOrderByDateTime(Pageable pageable);
+
+    /** Условие r.dateTime >= :dateTime задает начало диапазона по индексу (date_time, id),
+     * поэтому страницы далеко от начала читаются с места курсора, а не с начала индекса */
+    @Query(SELECT_DTO
+            + " where r.dateTime >= :dateTime and (r.dateTime > :dateTime or r.id > :id)"
+            + " order by r.dateTime, r.id")
+    List<ReservationDTO> findAllAsDTOAfterKey(
+            @Param("dateTime") LocalDateTime dateTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("select r.dateTime from Reservation r where r.schedule.id = :scheduleId")
+    List<LocalDateTime> findDateTimesByScheduleId(@Param("scheduleId") Long scheduleId);
+
+    @Query("select r.schedule.id as scheduleId, r.id as id from Reservation r"
+            + " where r.schedule.id in :scheduleIds order by r.id")
+    List<ScheduleReservationView> findIdsByScheduleIdIn(@Param("scheduleIds") Collection<Long> scheduleIds);
+
+    /** Потоковое чтение всех записей на прием сразу в виде DTO, без создания управляемых сущностей.
+     * Поток должен быть закрыт и использоваться внутри транзакции */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " order by r.id")
+    Stream<ReservationDTO> streamAllAsDTO();
+
+
+    /**
+     * Проекция записи на прием, содержащая только идентификаторы записи и расписания
+     */
+    interface ScheduleReservationView {
+
+        Long getScheduleId();
+
+        Long getId();
+    }
 }
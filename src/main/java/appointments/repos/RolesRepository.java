@@ -2,10 +2,14 @@ package appointments.repos;
 
 import appointments.domain.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 /**
  * Класс-репозиторий, реализующий действия с объектами Роли:
  * сохранение, удаление, получение списка, поиск по названию роли
@@ -15,5 +19,6 @@ import java.util.Optional;
 @Repository
 public interface RolesRepository extends JpaRepository<Role, Integer> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Role> findOneByName(String roleName);
 }
@@ -0,0 +1,25 @@
+package appointments.repos;
+
+import appointments.domain.ScheduleTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+/**
+ * Класс-репозиторий, реализующий действия с объектами Шаблон расписания:
+ * сохранение, удаление, получение списка шаблонов вместе со специалистами и днями приема
+ *
+ * @author yanchenko_evgeniya
+ */
+@Repository
+public interface ScheduleTemplatesRepository extends JpaRepository<ScheduleTemplate, Integer> {
+
+    @Query("select distinct t from ScheduleTemplate t"
+            + " join fetch t.specialist sp join fetch sp.organization left join fetch t.daysOfWeek"
+            + " order by t.id")
+    List<ScheduleTemplate> findAllWithSpecialists();
+
+}
@@ -0,0 +1,153 @@
+package appointments.repos;
+
+import appointments.domain.ScheduleTemplate;
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Класс-репозиторий для пакетного создания расписаний по шаблонам через JDBC:
+ * расписания вставляются пакетами, а связи с услугами - одним запросом INSERT ... SELECT
+ * по услугам шаблонов, поэтому количество обращений к базе не зависит от количества расписаний
+ *
+ * @author yanchenko_evgeniya
+ */
+@Repository
+public class SchedulesBatchRepository {
+
+    /** Количество строк в одном пакете вставки */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LOCK_SPECIALISTS = "SELECT id FROM specialists WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final String SELECT_SPECIALIST_INTERVALS
+            = "SELECT specialist_id, date, start_time, end_time FROM schedules WHERE date BETWEEN ? AND ?";
+
+    private static final String INSERT_SCHEDULE = "INSERT INTO schedules"
+            + " (specialist_id, room_number, date, start_time, end_time, interval_of_reception, template_id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_SCHEDULE_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.DATE, Types.TIME, Types.TIME, Types.INTEGER, Types.INTEGER
+    };
+
+    private static final String INSERT_TEMPLATE_SERVICES = "INSERT INTO services_schedules (service_id, schedule_id)"
+            + " SELECT t.service_id, s.id FROM schedules s"
+            + " JOIN services_schedule_templates t ON t.template_id = s.template_id"
+            + " WHERE s.date BETWEEN ? AND ?"
+            + " AND NOT EXISTS (SELECT 1 FROM services_schedules ss WHERE ss.schedule_id = s.id)";
+
+    /** Поле для хранения экземпляра JdbcTemplate */
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SchedulesBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Метод, блокирующий строки указанных специалистов до конца транзакции.
+     * Блокировки берутся в порядке идентификаторов, поэтому параллельные вызовы не взаимоблокируются */
+    public void lockSpecialists(final Collection<Integer> ids) {
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.queryForList(
+                String.format(LOCK_SPECIALISTS, String.join(", ", Collections.nCopies(ids.size(), "?"))),
+                Integer.class,
+                ids.toArray()
+        );
+    }
+
+    /** Метод, возвращающий часы приема, уже занятые расписаниями специалистов в указанном периоде */
+    public Map<Integer, List<ScheduleInterval>> findSpecialistIntervals(final LocalDate from, final LocalDate to) {
+
+        final Map<Integer, List<ScheduleInterval>> intervalsBySpecialist = new HashMap<>();
+
+        jdbcTemplate.query(
+                SELECT_SPECIALIST_INTERVALS,
+                resultSet -> {
+                    intervalsBySpecialist
+                            .computeIfAbsent(resultSet.getInt(1), id -> new ArrayList<>())
+                            .add(new ScheduleInterval(
+                                    resultSet.getDate(2).toLocalDate(),
+                                    resultSet.getTime(3).toLocalTime(),
+                                    resultSet.getTime(4).toLocalTime()
+                            ));
+                },
+                Date.valueOf(from),
+                Date.valueOf(to)
+        );
+
+        return intervalsBySpecialist;
+    }
+
+    /** Метод для пакетной вставки расписаний по шаблонам на указанные даты, возвращает количество расписаний */
+    public int insertSchedules(final Map<ScheduleTemplate, List<LocalDate>> datesByTemplate) {
+
+        final List<Object[]> rows = new ArrayList<>();
+
+        datesByTemplate.forEach((template, dates) -> dates.forEach(date -> rows.add(new Object[]{
+                template.getSpecialist().getId(),
+                template.getRoomNumber(),
+                Date.valueOf(date),
+                Time.valueOf(template.getStartTime()),
+                Time.valueOf(template.getEndTime()),
+                template.getIntervalOfReception(),
+                template.getId()
+        })));
+
+        for (List<Object[]> batch : Lists.partition(rows, BATCH_SIZE)) {
+            jdbcTemplate.batchUpdate(INSERT_SCHEDULE, batch, INSERT_SCHEDULE_TYPES);
+        }
+
+        return rows.size();
+    }
+
+    /** Метод для привязки услуг шаблонов к созданным по ним расписаниям в указанном периоде */
+    public int insertTemplateServices(final LocalDate from, final LocalDate to) {
+        return jdbcTemplate.update(INSERT_TEMPLATE_SERVICES, Date.valueOf(from), Date.valueOf(to));
+    }
+
+
+    /**
+     * Часы приема специалиста на одну дату
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class ScheduleInterval {
+
+        /** Дата приема */
+        private final LocalDate date;
+
+        /** Время начала приема */
+        private final LocalTime startTime;
+
+        /** Время окончания приема */
+        private final LocalTime endTime;
+
+        /** Метод, проверяющий, пересекается ли интервал с часами приема на ту же дату */
+        public boolean overlaps(final ScheduleInterval other) {
+            return date.equals(other.date)
+                    && startTime.isBefore(other.endTime)
+                    && other.startTime.isBefore(endTime);
+        }
+    }
+}
@@ -6,9 +6,14 @@ import appointments.domain.Specialist;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -21,7 +26,40 @@ import java.util.Optional;
 @Repository
 public interface SchedulesRepository extends JpaRepository<Schedule, Long> {
 
-    Page<Schedule> findAllByDateOrderByStartTime(Pageable pageable, LocalDate date);
+    /** Выборка расписаний сразу в виде плоских строк, без создания управляемых сущностей */
+    String SELECT_VIEW = "select s.id as id, s.specialist.id as specialistId, s.specialist.name as specialistName,"
+            + " s.roomNumber as roomNumber, s.date as date, s.startTime as startTime, s.endTime as endTime,"
+            + " s.intervalOfReception as intervalOfReception from Schedule s";
+
+    @Query(
+            value = SELECT_VIEW + " where s.date = :date order by s.startTime",
+            countQuery = "select count(s) from Schedule s where s.date = :date"
+    )
+    Page<ScheduleView> findAllViewsByDate(@Param("date") LocalDate date, Pageable pageable);
+
+    @Query(SELECT_VIEW + " where s.date = :date order by s.startTime, s.id")
+    List<ScheduleView> findAllViewsByDateOrderByStartTimeAndId(@Param("date") LocalDate date, Pageable pageable);
+
+    @Query(SELECT_VIEW + " where s.date = :date"
+            + " and s.startTime >= :startTime and (s.startTime > :startTime or s.id > :id)"
+            + " order by s.startTime, s.id")
+    List<ScheduleView> findAllViewsByDateAfterKey(
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("select s.id as scheduleId, sv.id as serviceId, sv.name as serviceName"
+            + " from Schedule s join s.services sv where s.id in :ids")
+    List<ScheduleServiceView> findServicesByScheduleIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id from Schedule s where s.date = :date order by s.startTime, s.id")
+    List<Long> findIdsByDate(@Param("date") LocalDate date);
+
+    @Query("select sv.id as serviceId, s.id as scheduleId, s.specialist.id as specialistId,"
+            + " s.date as date, s.startTime as startTime from Schedule s join s.services sv")
+    List<ServiceScheduleView> findAllServiceSchedules();
 
     Optional<Schedule> findOneBySpecialistAndDate(Specialist specialist, LocalDate date);
 
@@ -29,4 +67,56 @@ public interface SchedulesRepository extends JpaRepository<Schedule, Long> {
 
     boolean existsByServices(Service service);
 
+
+    /**
+     * Проекция связи расписания с услугой для построения индекса расписаний по услугам
+     */
+    interface ServiceScheduleView {
+
+        Integer getServiceId();
+
+        Long getScheduleId();
+
+        Integer getSpecialistId();
+
+        LocalDate getDate();
+
+        LocalTime getStartTime();
+    }
+
+
+    /**
+     * Проекция расписания без списков услуг и записей на прием
+     */
+    interface ScheduleView {
+
+        Long getId();
+
+        Integer getSpecialistId();
+
+        String getSpecialistName();
+
+        String getRoomNumber();
+
+        LocalDate getDate();
+
+        LocalTime getStartTime();
+
+        LocalTime getEndTime();
+
+        Integer getIntervalOfReception();
+    }
+
+
+    /**
+     * Проекция связи расписания с услугой, содержащая название услуги
+     */
+    interface ScheduleServiceView {
+
+        Long getScheduleId();
+
+        Integer getServiceId();
+
+        String getServiceName();
+    }
 }
@@ -2,11 +2,15 @@ package appointments.repos;
 
 import appointments.domain.Service;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 /**
  * Класс-репозиторий, реализующий действия с объектами справочника Цели обращения(Услуги):
  * сохранение, удаление, получение списка целей обращения
@@ -17,6 +21,9 @@ import java.util.Optional;
 public interface ServicesRepository extends JpaRepository<Service, Integer> {
 
     Optional<Service> findOneByName(String name);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Service> findAllByOrderByName();
+
     List<Service> findAll();
 }
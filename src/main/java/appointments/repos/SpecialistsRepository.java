@@ -1,12 +1,18 @@
 package appointments.repos;
 
 import appointments.domain.Specialist;
+import appointments.dto.SpecialistDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 /**
  * Класс-репозиторий, реализующий действия с объектами справочника Специалисты:
  * сохранение, редактирование, удаление, получение списка специалистов
@@ -19,4 +25,14 @@ public interface SpecialistsRepository extends JpaRepository<Specialist, Integer
     Optional<Specialist> findOneByName(String name);
     List<Specialist> findAllByOrderByName();
     List<Specialist> findAll();
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new appointments.dto.SpecialistDTO(s.id, s.name, s.active, s.organization.id)"
+            + " from Specialist s order by s.name")
+    List<SpecialistDTO> findAllAsDTO();
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new appointments.dto.SpecialistDTO(s.id, s.name, s.active, s.organization.id)"
+            + " from Specialist s where s.active = true order by s.name")
+    List<SpecialistDTO> findAllActiveAsDTO();
 }
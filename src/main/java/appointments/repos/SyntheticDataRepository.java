@@ -0,0 +1,271 @@
+package appointments.repos;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Класс-репозиторий для массовой записи синтетических данных через JDBC в обход Hibernate.
+ * В PostgreSQL строки передаются командой COPY ... FROM STDIN порциями, в остальных базах (H2 в тестах) -
+ * пакетами подготовленного запроса INSERT. Идентификаторы строк резервируются заранее сдвигом последовательностей,
+ * поэтому не пересекаются с блоками, которые Hibernate выделяет себе из тех же последовательностей.
+ * Строки каждой таблицы записываются в отдельной транзакции Spring
+ *
+ * @author yanchenko_evgeniya
+ */
+@Repository
+public class SyntheticDataRepository {
+
+    private static final String NULL_VALUE = "\\N";
+    private static final char COLUMN_DELIMITER = '\t';
+    private static final char ROW_DELIMITER = '\n';
+
+    /** Поле для хранения экземпляра JdbcTemplate */
+    private JdbcTemplate jdbcTemplate;
+
+    /** Поле для хранения шаблона транзакции, в которой записываются строки одной таблицы */
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public SyntheticDataRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Метод, возвращающий идентификаторы всех организаций */
+    public List<Integer> findOrganizationIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM organizations ORDER BY id", Integer.class);
+    }
+
+    /** Метод, возвращающий идентификаторы активных услуг */
+    public List<Integer> findActiveServiceIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM services WHERE active = TRUE ORDER BY id", Integer.class);
+    }
+
+    /**
+     * Метод для резервирования непрерывного диапазона идентификаторов в последовательности,
+     * возвращает первый идентификатор диапазона. Следующее значение последовательности будет за его концом
+     */
+    public long reserveIds(final String sequence, final long count) {
+
+        if (isPostgres()) {
+
+            final long first = jdbcTemplate.queryForObject("SELECT nextval(?)", Long.class, sequence);
+            jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, first + count);
+            return first;
+        }
+
+        final long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (first + count));
+        return first;
+    }
+
+    /** Метод для обновления статистики планировщика PostgreSQL по таблицам после массовой записи */
+    public void analyze(final List<String> tables) {
+
+        if (isPostgres()) {
+            tables.forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+        }
+    }
+
+    /**
+     * Метод для записи строк в таблицу: rows получает приемник и передает в него значения колонок каждой строки.
+     * Строки записываются в транзакции, которую фиксирует Spring. Возвращает количество записанных строк
+     */
+    public long insert(
+            final String table,
+            final List<String> columns,
+            final int batchSize,
+            final Consumer<RowWriter> rows
+    ) {
+
+        final ConnectionCallback<Long> callback = connection -> isPostgres(connection)
+                ? copy(connection, table, columns, batchSize, rows)
+                : batchInsert(connection, table, columns, batchSize, rows);
+
+        return transactionTemplate.execute(status -> jdbcTemplate.execute(callback));
+    }
+
+    /** Служебный метод для записи строк командой COPY в текстовом формате */
+    private long copy(
+            final Connection connection,
+            final String table,
+            final List<String> columns,
+            final int batchSize,
+            final Consumer<RowWriter> rows
+    ) throws SQLException {
+
+        final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN"
+        );
+        final StringBuilder buffer = new StringBuilder();
+        final long[] pending = new long[1];
+
+        try {
+            rows.accept(values -> {
+
+                for (int i = 0; i < values.length; i++) {
+
+                    if (i > 0) {
+                        buffer.append(COLUMN_DELIMITER);
+                    }
+                    appendCopyValue(buffer, values[i]);
+                }
+                buffer.append(ROW_DELIMITER);
+
+                if (++pending[0] == batchSize) {
+                    try {
+                        writeToCopy(copyIn, buffer);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    pending[0] = 0;
+                }
+            });
+
+            writeToCopy(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /** Служебный метод для записи строк пакетами подготовленного запроса INSERT */
+    private long batchInsert(
+            final Connection connection,
+            final String table,
+            final List<String> columns,
+            final int batchSize,
+            final Consumer<RowWriter> rows
+    ) throws SQLException {
+
+        final String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ")"
+                + " VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        final long[] counts = new long[2];
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            rows.accept(values -> {
+                try {
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, toJdbcValue(values[i]));
+                    }
+                    statement.addBatch();
+
+                    if (++counts[1] == batchSize) {
+                        statement.executeBatch();
+                        counts[0] += counts[1];
+                        counts[1] = 0;
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            if (counts[1] > 0) {
+                statement.executeBatch();
+                counts[0] += counts[1];
+            }
+        }
+
+        return counts[0];
+    }
+
+    /** Служебный метод, передающий накопленные строки в COPY и очищающий буфер */
+    private static void writeToCopy(final CopyIn copyIn, final StringBuilder buffer) throws SQLException {
+
+        if (buffer.length() == 0) {
+            return;
+        }
+
+        final byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /** Служебный метод для записи значения колонки в текстовом формате COPY */
+    private static void appendCopyValue(final StringBuilder buffer, final Object value) {
+
+        if (value == null) {
+            buffer.append(NULL_VALUE);
+            return;
+        }
+
+        final String text = value.toString();
+
+        for (int i = 0; i < text.length(); i++) {
+
+            final char c = text.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+
+    /** Служебный метод для преобразования дат и времени в типы JDBC */
+    private static Object toJdbcValue(final Object value) {
+
+        if (value instanceof LocalDate) {
+            return Date.valueOf(LocalDate.class.cast(value));
+        }
+        if (value instanceof LocalTime) {
+            return Time.valueOf(LocalTime.class.cast(value));
+        }
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf(LocalDateTime.class.cast(value));
+        }
+        return value;
+    }
+
+    private boolean isPostgres() {
+        final ConnectionCallback<Boolean> callback = SyntheticDataRepository::isPostgres;
+        return jdbcTemplate.execute(callback);
+    }
+
+    private static boolean isPostgres(final Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    /** Приемник строк таблицы: значения передаются в порядке колонок */
+    @FunctionalInterface
+    public interface RowWriter {
+
+        void write(Object... values);
+    }
+}
@@ -0,0 +1,186 @@
+package appointments.services;
+
+import appointments.config.TokenAuthenticationProperties;
+import appointments.dto.AuthenticationTokenDTO;
+import appointments.dto.TokenPayloadDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static java.util.stream.Collectors.toList;
+
+
+/**
+ * Класс для выдачи и проверки подписанных токенов аутентификации.
+ * Токен состоит из двух частей в base64url, разделенных точкой: JSON с именем учетной записи,
+ * ролями и временем окончания действия, и подписи HMAC-SHA256 этой части.
+ * Проверка токена не обращается ни к базе, ни к сессии: токен переживает перезапуск приложения,
+ * если секрет не изменился. Экземпляр Mac создается один раз на поток и переиспользуется.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class AuthenticationTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = ".";
+
+    /**
+     * Минимальная длина секрета в байтах - размер результата SHA-256: по RFC 2104 ключ HMAC
+     * не должен быть короче результата хэш-функции (размер блока SHA-256 - 64 байта)
+     */
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** Поле для хранения настроек режима аутентификации по токенам */
+    private TokenAuthenticationProperties properties;
+
+    /** Поле для хранения экземпляра сериализатора JSON */
+    private ObjectMapper objectMapper;
+
+    /** Часы для определения времени выдачи и окончания действия токена */
+    private Clock clock = Clock.systemUTC();
+
+    /** Инициализированный секретом экземпляр Mac для каждого потока: Mac не потокобезопасен */
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::createMac);
+
+    @Autowired
+    public AuthenticationTokenService(TokenAuthenticationProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Метод для проверки секрета при запуске: включенный режим без надежного секрета не должен стартовать */
+    @PostConstruct
+    public void validate() {
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        final String secret = properties.getSecret();
+
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException(
+                    "security.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes long"
+            );
+        }
+
+        if (properties.getTtlMinutes() <= 0) {
+            throw new IllegalStateException("security.token.ttl-minutes must be positive");
+        }
+    }
+
+    /** Метод для выдачи токена пользователю, успешно прошедшему аутентификацию */
+    public AuthenticationTokenDTO issueToken(final Authentication authentication) {
+
+        final Instant expiresAt = clock.instant().plus(properties.getTtlMinutes(), ChronoUnit.MINUTES);
+
+        final TokenPayloadDTO payload = new TokenPayloadDTO(
+                authentication.getName(),
+                authentication
+                        .getAuthorities()
+                        .stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(toList()),
+                expiresAt.getEpochSecond()
+        );
+
+        final String encodedPayload = ENCODER.encodeToString(toJson(payload));
+
+        log.debug("Issued token for user {} valid until {}", payload.getSub(), expiresAt);
+
+        return new AuthenticationTokenDTO(encodedPayload + SEPARATOR + sign(encodedPayload), expiresAt);
+    }
+
+    /** Метод для проверки токена. Возвращает аутентификацию пользователя
+     * или null, если токен поврежден, подпись не совпадает или срок действия истек */
+    public Authentication parseToken(final String token) {
+
+        final int separatorIndex = token.indexOf(SEPARATOR);
+
+        if (separatorIndex <= 0) {
+            return null;
+        }
+
+        final String encodedPayload = token.substring(0, separatorIndex);
+        final byte[] signature = token.substring(separatorIndex + 1).getBytes(StandardCharsets.US_ASCII);
+
+        if (!MessageDigest.isEqual(sign(encodedPayload).getBytes(StandardCharsets.US_ASCII), signature)) {
+            log.debug("Token signature mismatch");
+            return null;
+        }
+
+        final TokenPayloadDTO payload;
+
+        try {
+            payload = objectMapper.readValue(DECODER.decode(encodedPayload), TokenPayloadDTO.class);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Malformed token payload", e);
+            return null;
+        }
+
+        if (payload.getSub() == null || payload.getRoles() == null
+                || payload.getExp() <= clock.instant().getEpochSecond()) {
+            log.debug("Token of user {} is expired or incomplete", payload.getSub());
+            return null;
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+                payload.getSub(),
+                null,
+                payload.getRoles().stream().map(SimpleGrantedAuthority::new).collect(toList())
+        );
+    }
+
+    /** Метод для замены часов, используется в тестах для проверки окончания срока действия */
+    void setClock(final Clock clock) {
+        this.clock = clock;
+    }
+
+    private String sign(final String encodedPayload) {
+        return ENCODER.encodeToString(macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private Mac createMac() {
+
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize token signature", e);
+        }
+    }
+
+    private byte[] toJson(final TokenPayloadDTO payload) {
+
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
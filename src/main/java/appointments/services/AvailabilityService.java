@@ -0,0 +1,193 @@
+package appointments.services;
+
+import appointments.domain.Service;
+import appointments.dto.AvailableSlotDTO;
+import appointments.dto.SpecialistDTO;
+import appointments.exceptions.ScheduleNotFoundException;
+import appointments.exceptions.ServiceNotFoundException;
+import appointments.repos.SchedulesRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static appointments.utils.Constants.AVAILABILITY_INCORRECT_PERIOD_MESSAGE;
+import static appointments.utils.Constants.AVAILABILITY_MAX_LIMIT;
+import static appointments.utils.Constants.AVAILABILITY_WRONG_LIMIT;
+import static appointments.utils.Constants.SCHEDULE_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.SERVICE_EMPTY_ID_MESSAGE;
+import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
+import static java.util.stream.Collectors.toSet;
+
+
+/**
+ * Класс, реализующий поиск ближайшего свободного времени приема по услуге у всех специалистов:
+ * расписания услуги просматриваются по индексу в порядке дат, свободное время берется из масок занятости.
+ * Прошедшее время, расписания неактивных специалистов и неактивные услуги в результат не попадают
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@org.springframework.stereotype.Service
+public class AvailabilityService {
+
+    /** Порядок свободного времени внутри одного дня */
+    private static final Comparator<AvailableSlotDTO> SLOT_ORDER = Comparator
+            .comparing(AvailableSlotDTO::getDateTime)
+            .thenComparing(AvailableSlotDTO::getScheduleId);
+
+    /** Поле для хранения экземпляра репозитория расписаний */
+    private SchedulesRepository schedulesRepository;
+
+    /** Поле для хранения экземпляра репозитория услуг */
+    private ServicesRepository servicesRepository;
+
+    /** Поле для хранения экземпляра репозитория специалистов */
+    private SpecialistsRepository specialistsRepository;
+
+    /** Поле для хранения индекса расписаний по услугам */
+    private ServiceScheduleIndex serviceScheduleIndex;
+
+    /** Поле для хранения индекса занятости интервалов приема в расписаниях */
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    /** Часы для определения прошедшего времени приема */
+    private Clock clock = Clock.systemDefaultZone();
+
+    @Autowired
+    public AvailabilityService(
+            SchedulesRepository schedulesRepository,
+            ServicesRepository servicesRepository,
+            SpecialistsRepository specialistsRepository,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ScheduleOccupancyIndex occupancyIndex
+    ) {
+        this.schedulesRepository = schedulesRepository;
+        this.servicesRepository = servicesRepository;
+        this.specialistsRepository = specialistsRepository;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.occupancyIndex = occupancyIndex;
+    }
+
+    /** Метод для поиска ближайшего свободного времени приема по услуге в указанном периоде */
+    @Transactional(readOnly = true)
+    public List<AvailableSlotDTO> findFirstAvailable(
+            final Integer serviceId,
+            final LocalDate from,
+            final LocalDate to,
+            final int limit
+    ) {
+
+        log.debug("Finding first {} free slots of service with id = {} within period: {} - {}",
+                limit, serviceId, from, to);
+
+        checkParameters(serviceId, from, to, limit);
+
+        final Service service = servicesRepository
+                .findById(serviceId)
+                .orElseThrow(() -> new ServiceNotFoundException(SERVICE_NOT_FOUND_MESSAGE + serviceId));
+
+        final LocalDateTime now = LocalDateTime.now(clock);
+        final LocalDate firstDate = from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+
+        if (!service.isActive() || firstDate.isAfter(to)) {
+            log.debug("Service with id = {} is not active or the period has passed", serviceId);
+            return Collections.emptyList();
+        }
+
+        final Set<Integer> activeSpecialistIds = specialistsRepository
+                .findAllActiveAsDTO()
+                .stream()
+                .map(SpecialistDTO::getId)
+                .collect(toSet());
+
+        final List<AvailableSlotDTO> result = new ArrayList<>();
+        final List<AvailableSlotDTO> daySlots = new ArrayList<>();
+        LocalDate currentDate = null;
+
+        for (ServiceScheduleIndex.Entry entry : serviceScheduleIndex.getSchedules(serviceId, firstDate, to)) {
+
+            if (!activeSpecialistIds.contains(entry.getSpecialistId())) {
+                continue;
+            }
+
+            if (!entry.getDate().equals(currentDate)) {
+                addDaySlots(result, daySlots, limit);
+                if (result.size() == limit) {
+                    return result;
+                }
+                currentDate = entry.getDate();
+            }
+
+            for (LocalDateTime dateTime : getFreeSlots(entry.getScheduleId())) {
+                if (!dateTime.isBefore(now)) {
+                    daySlots.add(new AvailableSlotDTO(entry.getScheduleId(), entry.getSpecialistId(), dateTime));
+                }
+            }
+        }
+
+        addDaySlots(result, daySlots, limit);
+
+        return result;
+    }
+
+    /** Метод для замены часов, используется в тестах для проверки отбрасывания прошедшего времени */
+    void setClock(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /** Служебный метод, возвращающий свободное время расписания из маски занятости */
+    private List<LocalDateTime> getFreeSlots(final Long scheduleId) {
+
+        return occupancyIndex
+                .getFreeSlots(scheduleId, () -> schedulesRepository
+                        .findById(scheduleId)
+                        .orElseThrow(() -> new ScheduleNotFoundException(SCHEDULE_NOT_FOUND_MESSAGE + scheduleId))
+                )
+                .getFreeSlots();
+    }
+
+    /** Служебный метод, добавляющий к результату свободное время одного дня в порядке времени приема */
+    private static void addDaySlots(List<AvailableSlotDTO> result, List<AvailableSlotDTO> daySlots, int limit) {
+
+        daySlots.sort(SLOT_ORDER);
+
+        for (AvailableSlotDTO slot : daySlots) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(slot);
+        }
+
+        daySlots.clear();
+    }
+
+    /** Служебный метод для проверки параметров поиска */
+    private void checkParameters(Integer serviceId, LocalDate from, LocalDate to, int limit) {
+
+        if (serviceId == null) {
+            log.error(SERVICE_EMPTY_ID_MESSAGE);
+            throw new IllegalArgumentException(SERVICE_EMPTY_ID_MESSAGE);
+        }
+
+        if (from == null || to == null || to.isBefore(from)) {
+            log.error("Parameters 'from' and 'to' are wrong: {} - {}", from, to);
+            throw new IllegalArgumentException(AVAILABILITY_INCORRECT_PERIOD_MESSAGE);
+        }
+
+        if (limit < 1 || limit > AVAILABILITY_MAX_LIMIT) {
+            log.error("Parameter 'limit' is out of range: {}", limit);
+            throw new IllegalArgumentException(AVAILABILITY_WRONG_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package appointments.services;
+
+import appointments.dto.CacheRegionStatisticsDTO;
+import appointments.dto.CacheStatisticsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static appointments.utils.Constants.METRIC_SQL_STATEMENTS;
+import static java.util.stream.Collectors.toList;
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+/**
+ * Класс, возвращающий статистику кэша второго уровня Hibernate и кэша запросов,
+ * по которой можно оценить, насколько снизилась нагрузка на базу при чтении справочников.
+ * Счетчики регионов ведет сам Caffeine JCache (monitoring.statistics в application.conf), они привязаны
+ * к Micrometer как метрики cache.gets и cache.puts с тегом cache и читаются отсюда же,
+ * поэтому статистика доступна и в промышленной эксплуатации без hibernate.generate_statistics
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@org.springframework.stereotype.Service
+public class CacheStatisticsService {
+
+    private static final String METRIC_CACHE_GETS = "cache.gets";
+    private static final String METRIC_CACHE_PUTS = "cache.puts";
+    private static final String TAG_CACHE = "cache";
+    private static final String TAG_RESULT = "result";
+    private static final String RESULT_HIT = "hit";
+    private static final String RESULT_MISS = "miss";
+
+    /** Поле для хранения реестра метрик, в котором зарегистрированы счетчики регионов кэша */
+    private MeterRegistry meterRegistry;
+
+    /** Названия регионов кэша второго уровня */
+    private List<String> regions;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+
+        this.meterRegistry = meterRegistry;
+
+        final CacheManager cacheManager = JCacheRegionFactory.class
+                .cast(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory())
+                .getCacheManager();
+
+        this.regions = StreamSupport
+                .stream(cacheManager.getCacheNames().spliterator(), false)
+                .sorted()
+                .collect(toList());
+
+        regions.forEach(region -> new JCacheMetrics(cacheManager.getCache(region), Tags.empty()).bindTo(meterRegistry));
+    }
+
+    /** Метод для получения накопленной статистики кэшей */
+    public CacheStatisticsDTO getCacheStatistics() {
+
+        log.debug("Getting second level cache statistics");
+
+        final List<CacheRegionStatisticsDTO> regionStatistics = regions
+                .stream()
+                .map(this::getRegionStatistics)
+                .collect(toList());
+
+        final List<CacheRegionStatisticsDTO> entityRegions = regionStatistics
+                .stream()
+                .filter(region -> !DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME.equals(region.getRegion())
+                        && !DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(region.getRegion()))
+                .collect(toList());
+
+        final CacheRegionStatisticsDTO queryRegion = getRegionStatistics(DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+        return new CacheStatisticsDTO(
+                entityRegions.stream().mapToLong(CacheRegionStatisticsDTO::getHitCount).sum(),
+                entityRegions.stream().mapToLong(CacheRegionStatisticsDTO::getMissCount).sum(),
+                queryRegion.getHitCount(),
+                queryRegion.getMissCount(),
+                (long) meterRegistry.summary(METRIC_SQL_STATEMENTS).totalAmount(),
+                regionStatistics
+        );
+    }
+
+    /** Служебный метод, возвращающий статистику одного региона кэша сущностей или результатов запросов */
+    private CacheRegionStatisticsDTO getRegionStatistics(final String region) {
+
+        return new CacheRegionStatisticsDTO(
+                region,
+                getCount(region, METRIC_CACHE_GETS, Tags.of(TAG_RESULT, RESULT_HIT)),
+                getCount(region, METRIC_CACHE_GETS, Tags.of(TAG_RESULT, RESULT_MISS)),
+                getCount(region, METRIC_CACHE_PUTS, Tags.empty())
+        );
+    }
+
+    /** Служебный метод, возвращающий значение счетчика региона кэша, 0 - если регион не зарегистрирован */
+    private long getCount(final String region, final String name, final Tags tags) {
+
+        return meterRegistry
+                .find(name)
+                .tag(TAG_CACHE, region)
+                .tags(tags)
+                .functionCounters()
+                .stream()
+                .mapToLong(counter -> (long) counter.count())
+                .sum();
+    }
+}
@@ -0,0 +1,96 @@
+package appointments.services;
+
+import appointments.domain.Organization;
+import appointments.exceptions.OrganizationNotFoundException;
+import appointments.repos.OrganizationsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static appointments.services.ResourceVersions.Resource.ORGANIZATION;
+import static appointments.utils.Constants.ORGANIZATION_DEFAULT_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.ORGANIZATION_EMPTY_ID_MESSAGE;
+import static appointments.utils.Constants.ORGANIZATION_NOT_FOUND_MESSAGE;
+
+
+/**
+ * Класс, хранящий в памяти справочник организаций.
+ * Организации загружаются из базы один раз при запуске приложения и далее отдаются из памяти.
+ * Организацией по умолчанию считается организация с наименьшим идентификатором.
+ * При обновлении справочник перечитывается целиком и подменяется одной записью ссылки,
+ * поэтому читатели всегда видят согласованный набор организаций.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class OrganizationRegistry {
+
+    /** Поле для хранения экземпляра репозитория организаций */
+    private OrganizationsRepository organizationsRepository;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
+    /** Организации в порядке идентификаторов, ключ - идентификатор организации */
+    private volatile Map<Integer, Organization> organizations = Collections.emptyMap();
+
+    @Autowired
+    public OrganizationRegistry(OrganizationsRepository organizationsRepository, ResourceVersions resourceVersions) {
+        this.organizationsRepository = organizationsRepository;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /** Метод для загрузки справочника при запуске приложения */
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    /** Метод, возвращающий организацию по умолчанию */
+    public Organization getDefaultOrganization() {
+
+        return organizations
+                .values()
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new OrganizationNotFoundException(ORGANIZATION_DEFAULT_NOT_FOUND_MESSAGE));
+    }
+
+    /** Метод для поиска организации по идентификатору */
+    public Organization findOrganizationById(final Integer id) {
+
+        if (id == null) {
+            log.error(ORGANIZATION_EMPTY_ID_MESSAGE);
+            throw new IllegalArgumentException(ORGANIZATION_EMPTY_ID_MESSAGE);
+        }
+
+        final Organization organization = organizations.get(id);
+
+        if (organization == null) {
+            throw new OrganizationNotFoundException(ORGANIZATION_NOT_FOUND_MESSAGE + id);
+        }
+
+        return organization;
+    }
+
+    /** Метод для перечитывания справочника из базы, например после изменения таблицы организаций */
+    public synchronized void refresh() {
+
+        final Map<Integer, Organization> loaded = new LinkedHashMap<>();
+
+        for (Organization organization : organizationsRepository.findAllByOrderById()) {
+            loaded.put(organization.getId(), organization);
+        }
+
+        organizations = Collections.unmodifiableMap(loaded);
+        resourceVersions.touch(ORGANIZATION);
+
+        log.info("Loaded {} organizations", loaded.size());
+    }
+}
@@ -0,0 +1,135 @@
+package appointments.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+/**
+ * Класс, хранящий в памяти готовые JSON-ответы открытых справочников (активные услуги и специалисты).
+ * Ответ сериализуется один раз при первом обращении, вместе с телом хранится строгий ETag,
+ * поэтому повторные запросы не обращаются ни к базе, ни к Jackson.
+ * Ответ сбрасывается после фиксации транзакции, изменившей справочник.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class ReferenceResponseCache {
+
+    /** Ключ ответа со списком активных услуг */
+    public static final String ACTIVE_SERVICES = "services/active";
+
+    /** Ключ ответа со списком активных специалистов */
+    public static final String ACTIVE_SPECIALISTS = "specialists/active";
+
+    /** Поле для хранения экземпляра сериализатора JSON, настроенного Spring MVC */
+    private ObjectMapper objectMapper;
+
+    /** Готовые ответы, ключ - имя справочника */
+    private final ConcurrentMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    /** Счетчик сбросов: ответ, построенный до сброса, не сохраняется */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public ReferenceResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Метод, возвращающий готовый ответ, при отсутствии сериализует данные, полученные из loader */
+    public CachedResponse get(final String key, final Supplier<?> loader) {
+
+        final CachedResponse existing = responses.get(key);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        log.debug("Building response {}", key);
+
+        final long evictionsBefore = evictionCount.get();
+        final CachedResponse built = new CachedResponse(serialize(loader.get()));
+
+        synchronized (this) {
+            if (evictionCount.get() == evictionsBefore) {
+                responses.putIfAbsent(key, built);
+            }
+        }
+
+        return built;
+    }
+
+    /** Метод для сброса ответа после фиксации текущей транзакции (или сразу, если ее нет) */
+    public void evictAfterCommit(final String key) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+
+        } else {
+            evict(key);
+        }
+    }
+
+    /** Метод для немедленного сброса ответа */
+    public synchronized void evict(final String key) {
+
+        evictionCount.incrementAndGet();
+
+        if (responses.remove(key) != null) {
+            log.debug("Response {} evicted", key);
+        }
+    }
+
+    /** Метод для сброса всех ответов */
+    public synchronized void evictAll() {
+
+        evictionCount.incrementAndGet();
+        responses.clear();
+    }
+
+    private byte[] serialize(final Object body) {
+
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize response", e);
+        }
+    }
+
+
+    /**
+     * Сериализованное тело ответа и его строгий ETag
+     */
+    @Getter
+    public static final class CachedResponse {
+
+        /** Тело ответа в кодировке UTF-8 */
+        private final byte[] body;
+
+        /** Строгий ETag ответа: MD5 тела */
+        private final String eTag;
+
+        private CachedResponse(final byte[] body) {
+            this.body = body;
+            this.eTag = DigestUtils.md5DigestAsHex(body);
+        }
+    }
+}
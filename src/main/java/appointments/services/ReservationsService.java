@@ -2,6 +2,7 @@ package appointments.services;
 
 import appointments.domain.Reservation;
 import appointments.domain.Schedule;
+import appointments.dto.CursorPageDTO;
 import appointments.dto.ReservationDTO;
 import appointments.exceptions.ChildNotFoundException;
 import appointments.exceptions.ReservationAlreadyExistsException;
@@ -13,23 +14,39 @@ import appointments.repos.ChildrenRepository;
 import appointments.repos.ReservationsRepository;
 import appointments.repos.SchedulesRepository;
 import appointments.repos.ServicesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static appointments.services.ResourceVersions.Resource.RESERVATIONS;
+import static appointments.services.ResourceVersions.Resource.SCHEDULES;
 import static appointments.utils.Constants.CHILD_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.METRIC_RESERVATIONS_ADD;
+import static appointments.utils.Constants.METRIC_RESERVATIONS_CHECK_TIME;
 import static appointments.utils.Constants.RESERVATION_EMPTY_ID_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_INCORRECT_DATETIME_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.RESERVATION_TIME_IS_BUSY_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
-import static java.util.stream.Collectors.toList;
+import static appointments.utils.CursorUtils.checkPageSize;
+import static appointments.utils.CursorUtils.decode;
+import static appointments.utils.CursorUtils.encode;
+import static appointments.utils.CursorUtils.parseKey;
+import static appointments.utils.PersistenceUtils.isUniqueViolation;
 
 
 /**
@@ -43,6 +60,9 @@ import static java.util.stream.Collectors.toList;
 @org.springframework.stereotype.Service
 public class ReservationsService {
 
+    /** Количество значений в курсоре записей на прием: дата и время приема, идентификатор */
+    private static final int CURSOR_KEYS_COUNT = 2;
+
     /** Поле для хранения экземпляра репозитория записей на прием */
     private ReservationsRepository reservationsRepository;
 
@@ -58,32 +78,44 @@ public class ReservationsService {
     /** Поле для хранения экземпляра маппера записей на прием в DTO */
     private ReservationMapper mapper;
 
+    /** Поле для хранения индекса занятости интервалов приема в расписаниях */
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
+    /** Таймеры добавления записи на прием и проверки времени записи по расписанию */
+    private Timer addReservationTimer;
+    private Timer checkTimeInScheduleTimer;
+
     @Autowired
     public ReservationsService(
             ReservationsRepository reservationsRepository,
             SchedulesRepository schedulesRepository,
             ChildrenRepository childrenRepository,
             ServicesRepository servicesRepository,
-            ReservationMapper mapper
+            ReservationMapper mapper,
+            ScheduleOccupancyIndex occupancyIndex,
+            ResourceVersions resourceVersions,
+            MeterRegistry meterRegistry
     ) {
         this.reservationsRepository = reservationsRepository;
         this.schedulesRepository = schedulesRepository;
         this.childrenRepository = childrenRepository;
         this.servicesRepository = servicesRepository;
         this.mapper = mapper;
+        this.occupancyIndex = occupancyIndex;
+        this.resourceVersions = resourceVersions;
+        this.addReservationTimer = meterRegistry.timer(METRIC_RESERVATIONS_ADD);
+        this.checkTimeInScheduleTimer = meterRegistry.timer(METRIC_RESERVATIONS_CHECK_TIME);
     }
 
-    /** Метод для получения списка всех записей на прием */
+    /** Метод для получения списка записей на прием за дату или за период.
+     * Все записи целиком выгружаются только потоком, см. {@link #exportReservations(Consumer)} */
     @Transactional(readOnly = true)
     public List<ReservationDTO> getReservations(LocalDate date, LocalDate startDate, LocalDate endDate) {
 
-        if (date == null && startDate == null && endDate == null) {
-
-            log.debug("Getting list of all reservations");
-
-            return mapper.reservationListToReservationDTOList(reservationsRepository.findAll());
-
-        } else if (date != null && startDate == null && endDate == null) {
+        if (date != null && startDate == null && endDate == null) {
 
             return findReservationByDate(date);
 
@@ -98,6 +130,55 @@ public class ReservationsService {
         }
     }
 
+    /** Метод для потоковой выгрузки всех записей на прием: записи читаются из базы курсором
+     * и по одной передаются обработчику, не накапливаясь в памяти */
+    @Transactional(readOnly = true)
+    public void exportReservations(final Consumer<ReservationDTO> consumer) {
+
+        log.debug("Streaming all reservations");
+
+        try (Stream<ReservationDTO> reservations = reservationsRepository.streamAllAsDTO()) {
+            reservations.forEach(consumer);
+        }
+    }
+
+    /** Метод для получения страницы записей на прием, следующей за курсором.
+     * Выборка идет по ключу (дата и время приема, идентификатор) без смещения и подсчета общего количества */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReservationDTO> getReservationsAfter(final String cursor, final int size) {
+
+        log.debug("Getting page of reservations after cursor {}", cursor);
+
+        checkPageSize(size);
+
+        final Pageable limit = PageRequest.of(0, size + 1);
+        final List<ReservationDTO> reservations;
+
+        if (cursor == null) {
+            reservations = reservationsRepository.findAllAsDTOOrderByDateTime(limit);
+        } else {
+            final String[] keys = decode(cursor, CURSOR_KEYS_COUNT);
+
+            reservations = reservationsRepository.findAllAsDTOAfterKey(
+                    parseKey(keys[0], LocalDateTime::parse),
+                    parseKey(keys[1], Long::valueOf),
+                    limit
+            );
+        }
+
+        if (reservations.size() <= size) {
+            return new CursorPageDTO<>(reservations, null);
+        }
+
+        final List<ReservationDTO> page = reservations.subList(0, size);
+        final ReservationDTO last = page.get(size - 1);
+
+        return new CursorPageDTO<>(
+                page,
+                encode(last.getDateTime(), last.getId())
+        );
+    }
+
     /** Метод для поиска всех записей на прием в конкретную дату */
     @Transactional(readOnly = true)
     public List<ReservationDTO> findReservationByDate(final LocalDate date) {
@@ -109,14 +190,7 @@ public class ReservationsService {
             throw new IllegalArgumentException(RESERVATION_INCORRECT_DATETIME_MESSAGE);
         }
 
-        return mapper.reservationListToReservationDTOList(
-                schedulesRepository
-                        .findAll()
-                        .stream()
-                        .filter(s -> s.getDate().equals(date))
-                        .flatMap(s -> s.getReservations().stream())
-                        .collect(toList())
-        );
+        return reservationsRepository.findAllAsDTOByScheduleDate(date);
     }
 
     /** Метод для поиска всех записей на прием за промежуток времени (например, неделю) */
@@ -130,14 +204,7 @@ public class ReservationsService {
             throw new IllegalArgumentException(RESERVATION_INCORRECT_DATETIME_MESSAGE);
         }
 
-        return mapper.reservationListToReservationDTOList(
-                schedulesRepository
-                        .findAll()
-                        .stream()
-                        .filter(s -> (!s.getDate().isAfter(endDate) && !s.getDate().isBefore(startDate)))
-                        .flatMap(s -> s.getReservations().stream())
-                        .collect(toList())
-        );
+        return reservationsRepository.findAllAsDTOByScheduleDateBetween(startDate, endDate);
     }
 
     /** Метод для поиска конкретной записи на прием по идентификатору */
@@ -160,6 +227,16 @@ public class ReservationsService {
     /** Метод для добавления новой записи на прием */
     @Transactional
     public ReservationDTO addReservation(final ReservationDTO dto) {
+        return addReservationTimer.record(() -> saveReservation(dto));
+    }
+
+    @Transactional
+    void checkIfTimeInSchedule(Schedule schedule, LocalDateTime wantedDateTime) {
+        checkTimeInScheduleTimer.record(() -> checkTimeInSchedule(schedule, wantedDateTime));
+    }
+
+    /** Служебный метод добавления записи на прием, выполняется под таймером addReservation */
+    private ReservationDTO saveReservation(final ReservationDTO dto) {
 
         final Reservation reservation = mapper.reservationDTOToReservation(dto);
 
@@ -191,17 +268,31 @@ public class ReservationsService {
 
         checkIfTimeInSchedule(reservation.getSchedule(), reservation.getDateTime());
 
-        final Reservation savedReservation = reservationsRepository.save(reservation);
+        final Reservation savedReservation;
+
+        try {
+            savedReservation = reservationsRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+
+            // в таблице reservations уникально только время записи в рамках расписания
+            if (isUniqueViolation(e)) {
+                log.error("Wanted dateTime was reserved by a concurrent request");
+                throw new ReservationAlreadyExistsException(RESERVATION_TIME_IS_BUSY_MESSAGE);
+            }
+            throw e;
+        }
+
         log.info("Added new reservation: {}", savedReservation);
 
-        savedReservation.getSchedule().getReservations().add(savedReservation);
-        schedulesRepository.flush();
+        occupancyIndex.markBusy(savedReservation.getSchedule(), savedReservation.getDateTime().toLocalTime());
+        // идентификаторы записей входят и в ответы со списками расписаний
+        resourceVersions.touchAfterCommit(RESERVATIONS, SCHEDULES);
 
         return mapper.reservationToReservationDTO(savedReservation);
     }
 
-    @Transactional
-    void checkIfTimeInSchedule(Schedule schedule, LocalDateTime wantedDateTime) {
+    /** Служебный метод проверки времени записи по расписанию, выполняется под таймером checkIfTimeInSchedule */
+    private void checkTimeInSchedule(Schedule schedule, LocalDateTime wantedDateTime) {
 
         final LocalDate wantedDate = wantedDateTime.toLocalDate();
 
@@ -218,29 +309,19 @@ public class ReservationsService {
             throw new IllegalArgumentException(RESERVATION_INCORRECT_DATETIME_MESSAGE);
         }
 
-        boolean timeIsBusy = schedule
-                .getReservations()
-                .stream()
-                .anyMatch(r -> hasIntersection(r, schedule, wantedDateTime));
+        // уникальность (schedule_id, date_time) в базе не защищает от пересечения приемов со сдвигом,
+        // поэтому записаться можно только на начало интервала приема
+        final Duration fromStart = Duration.between(schedule.getStartTime(), wantedTime);
 
-        if (timeIsBusy) {
-            log.error("Wanted dateTime is already busy with another reservation");
-            throw new ReservationAlreadyExistsException("Это время уже занято");
+        if (fromStart.toNanos() % Duration.ofMinutes(schedule.getIntervalOfReception()).toNanos() != 0) {
+            log.error("Wanted time {} is not a start of reception interval", wantedTime);
+            throw new IllegalArgumentException(RESERVATION_INCORRECT_DATETIME_MESSAGE);
         }
-    }
 
-    /** Служебный метод для проверки пересечения времени, на которое хотим осуществить новую запись на прием,
-     * с интервалами уже существующих записей */
-    private boolean hasIntersection(Reservation reservation,
-                                    Schedule schedule,
-                                    LocalDateTime wantedDateTime) {
-
-        return !wantedDateTime.isBefore(reservation.getDateTime())
-                && wantedDateTime.isBefore(
-                    reservation
-                        .getDateTime()
-                        .plus(schedule.getIntervalOfReception(), ChronoUnit.MINUTES)
-                );
+        if (occupancyIndex.isBusy(schedule, wantedTime)) {
+            log.error("Wanted dateTime is already busy with another reservation");
+            throw new ReservationAlreadyExistsException(RESERVATION_TIME_IS_BUSY_MESSAGE);
+        }
     }
 
 }
@@ -0,0 +1,129 @@
+package appointments.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Класс, хранящий версии коллекций ресурсов REST API для условных GET-запросов.
+ * Версия коллекции - счетчик изменений и время последнего изменения, они увеличиваются
+ * после фиксации каждой транзакции, изменившей коллекцию. По версии строятся заголовки ETag и Last-Modified,
+ * и если клиент прислал совпадающие If-None-Match / If-Modified-Since, контроллер отвечает 304, не выполняя запрос.
+ * Счетчики хранятся в памяти, поэтому в ETag входит время запуска приложения:
+ * после перезапуска все ранее выданные ETag становятся недействительными.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class ResourceVersions {
+
+    /** Коллекции ресурсов, версии которых отслеживаются */
+    public enum Resource {
+        SERVICES,
+        SPECIALISTS,
+        SCHEDULES,
+        RESERVATIONS,
+        ORGANIZATION
+    }
+
+    private static final long MILLIS_IN_SECOND = 1000;
+
+    /** Время запуска приложения в шестнадцатеричном виде, префикс всех ETag */
+    private final String startTag = Long.toHexString(System.currentTimeMillis());
+
+    /** Текущие версии коллекций */
+    private final Map<Resource, AtomicReference<Version>> versions = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+
+        final long now = System.currentTimeMillis();
+
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicReference<>(new Version(0, now, true)));
+        }
+    }
+
+    /** Метод для проверки условного GET-запроса: если коллекция не изменилась с версии,
+     * указанной клиентом, возвращает true и выставляет ответу статус 304.
+     * В обоих случаях в ответ добавляются заголовки ETag и Last-Modified текущей версии.
+     * Last-Modified имеет точность до секунды, поэтому если в ту же секунду коллекция менялась
+     * несколько раз, проверка выполняется только по ETag */
+    public boolean checkNotModified(final WebRequest request, final Resource resource) {
+
+        final Version version = versions.get(resource).get();
+        final String eTag = startTag + "-" + resource.ordinal() + "-" + version.counter;
+
+        return version.onlyChangeInSecond
+                ? request.checkNotModified(eTag, version.lastModified)
+                : request.checkNotModified(eTag);
+    }
+
+    /** Метод для увеличения версий коллекций после фиксации текущей транзакции (или сразу, если ее нет) */
+    public void touchAfterCommit(final Resource... resources) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    touch(resources);
+                }
+            });
+
+        } else {
+            touch(resources);
+        }
+    }
+
+    /** Метод для немедленного увеличения версий коллекций */
+    public void touch(final Resource... resources) {
+
+        final long now = System.currentTimeMillis();
+
+        for (Resource resource : resources) {
+            final Version version = versions
+                    .get(resource)
+                    .updateAndGet(v -> new Version(v.counter + 1, now, !isSameSecond(v.lastModified, now)));
+            log.debug("Version of {} changed to {}", resource, version.counter);
+        }
+    }
+
+    /** Метод для увеличения версий всех коллекций, например после изменения данных в обход сервисов */
+    public void touchAll() {
+        touch(Resource.values());
+    }
+
+    private static boolean isSameSecond(final long first, final long second) {
+        return first / MILLIS_IN_SECOND == second / MILLIS_IN_SECOND;
+    }
+
+
+    /**
+     * Версия коллекции
+     */
+    private static final class Version {
+
+        /** Счетчик изменений коллекции */
+        private final long counter;
+
+        /** Время последнего изменения коллекции в миллисекундах */
+        private final long lastModified;
+
+        /** Признак того, что это единственное изменение коллекции в секунду lastModified */
+        private final boolean onlyChangeInSecond;
+
+        private Version(final long counter, final long lastModified, final boolean onlyChangeInSecond) {
+            this.counter = counter;
+            this.lastModified = lastModified;
+            this.onlyChangeInSecond = onlyChangeInSecond;
+        }
+    }
+}
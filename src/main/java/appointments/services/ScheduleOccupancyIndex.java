@@ -0,0 +1,254 @@
+package appointments.services;
+
+import appointments.domain.Schedule;
+import appointments.dto.FreeSlotsDTO;
+import appointments.repos.ReservationsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static appointments.utils.Constants.SCHEDULE_OCCUPANCY_MAX_SIZE;
+import static appointments.utils.Constants.SCHEDULE_OCCUPANCY_TTL_MINUTES;
+
+
+/**
+ * Класс, хранящий в памяти занятость интервалов приема для каждого расписания.
+ * День расписания представлен битовой маской интервалов длиной intervalOfReception минут,
+ * начиная со времени начала приема. Маска строится при первом обращении к расписанию
+ * по данным из базы и обновляется при каждой новой записи на прием,
+ * что позволяет проверять занятость времени за константное время без загрузки списка записей.
+ * Вместе с маской хранится вычисленный список свободного времени, который сбрасывается при новой записи.
+ * Количество масок в памяти ограничено, давно не использованные маски вытесняются и строятся заново;
+ * двойную запись на одно время в любом случае не допускает уникальное ограничение в базе.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class ScheduleOccupancyIndex {
+
+    private static final int MINUTES_IN_HOUR = 60;
+    private static final int BITS_IN_WORD = 64;
+
+    /** Поле для хранения экземпляра репозитория записей на прием */
+    private ReservationsRepository reservationsRepository;
+
+    /** Битовые маски занятости интервалов, ключ - идентификатор расписания */
+    private final Cache<Long, Occupancy> occupancies = Caffeine
+            .newBuilder()
+            .maximumSize(SCHEDULE_OCCUPANCY_MAX_SIZE)
+            .expireAfterAccess(SCHEDULE_OCCUPANCY_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Autowired
+    public ScheduleOccupancyIndex(ReservationsRepository reservationsRepository) {
+        this.reservationsRepository = reservationsRepository;
+    }
+
+    /** Метод для проверки, занят ли интервал приема, в который попадает указанное время */
+    public boolean isBusy(final Schedule schedule, final LocalTime time) {
+        return getOccupancy(schedule).isBusy(toMinutes(time));
+    }
+
+    /** Метод для отметки интервалов, занятых новой записью на прием.
+     * Если текущая транзакция не будет зафиксирована, маска расписания сбрасывается
+     * и будет построена заново при следующем обращении */
+    public void markBusy(final Schedule schedule, final LocalTime time) {
+
+        getOccupancy(schedule).markBusy(toMinutes(time));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            final Long scheduleId = schedule.getId();
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                        evict(scheduleId);
+                    }
+                }
+            });
+        }
+    }
+
+    /** Метод для получения свободного времени приема в расписании.
+     * Расписание загружается из базы, только если его маски еще нет в памяти */
+    public FreeSlotsDTO getFreeSlots(final Long scheduleId, final Supplier<Schedule> scheduleLoader) {
+
+        final Occupancy existing = occupancies.getIfPresent(scheduleId);
+
+        return (existing != null ? existing : getOccupancy(scheduleLoader.get())).getFreeSlots();
+    }
+
+    /** Метод для удаления маски занятости расписания из памяти */
+    public void evict(final Long scheduleId) {
+
+        if (scheduleId != null && occupancies.asMap().remove(scheduleId) != null) {
+            log.debug("Occupancy of schedule with id = {} evicted", scheduleId);
+        }
+    }
+
+    /** Метод для удаления из памяти масок занятости всех расписаний, например после массовой записи в обход сервисов */
+    public void evictAll() {
+
+        occupancies.invalidateAll();
+        log.debug("Occupancies of all schedules evicted");
+    }
+
+    /** Служебный метод, возвращающий маску занятости расписания, при отсутствии строит ее по данным из базы.
+     * Маска строится вне compute, чтобы медленный запрос к базе не блокировал другие расписания,
+     * а compute устанавливает ее, только если другой поток не успел раньше. Поэтому параллельные запросы
+     * получают один и тот же экземпляр и отметки новых записей на прием не теряются при замене маски */
+    private Occupancy getOccupancy(final Schedule schedule) {
+
+        final Occupancy existing = occupancies.getIfPresent(schedule.getId());
+
+        if (existing != null && existing.matches(schedule)) {
+            return existing;
+        }
+
+        final Occupancy built = buildOccupancy(schedule);
+
+        return occupancies.asMap().compute(
+                schedule.getId(),
+                (id, current) -> current != null && current.matches(schedule) ? current : built
+        );
+    }
+
+    /** Служебный метод для построения маски занятости расписания по записям на прием из базы */
+    private Occupancy buildOccupancy(final Schedule schedule) {
+
+        log.debug("Building occupancy of schedule with id = {}", schedule.getId());
+
+        final Occupancy occupancy = new Occupancy(schedule);
+
+        for (LocalDateTime dateTime : reservationsRepository.findDateTimesByScheduleId(schedule.getId())) {
+            occupancy.markBusy(toMinutes(dateTime.toLocalTime()));
+        }
+
+        return occupancy;
+    }
+
+    /** Служебный метод для перевода времени в количество минут от начала суток */
+    private static int toMinutes(final LocalTime time) {
+        return time.getHour() * MINUTES_IN_HOUR + time.getMinute();
+    }
+
+
+    /**
+     * Битовая маска занятости интервалов приема одного расписания
+     */
+    private static final class Occupancy {
+
+        /** Идентификатор расписания */
+        private final Long scheduleId;
+
+        /** Дата приема */
+        private final LocalDate date;
+
+        /** Время начала приема в минутах от начала суток */
+        private final int startMinute;
+
+        /** Время окончания приема в минутах от начала суток */
+        private final int endMinute;
+
+        /** Длительность интервала приема в минутах */
+        private final int interval;
+
+        /** Номер последнего интервала (время окончания приема также допускается для записи) */
+        private final int lastSlot;
+
+        /** Биты занятости интервалов */
+        private final long[] slots;
+
+        /** Вычисленное свободное время приема, null - если маска изменилась после вычисления */
+        private FreeSlotsDTO freeSlots;
+
+        private Occupancy(final Schedule schedule) {
+
+            this.scheduleId = schedule.getId();
+            this.date = schedule.getDate();
+            this.startMinute = toMinutes(schedule.getStartTime());
+            this.endMinute = toMinutes(schedule.getEndTime());
+            this.interval = schedule.getIntervalOfReception();
+            this.lastSlot = Math.max(endMinute - startMinute, 0) / interval;
+            this.slots = new long[lastSlot / BITS_IN_WORD + 1];
+        }
+
+        /** Проверка, что маска построена для тех же часов приема, что и в расписании */
+        private boolean matches(final Schedule schedule) {
+
+            return startMinute == toMinutes(schedule.getStartTime())
+                    && endMinute == toMinutes(schedule.getEndTime())
+                    && interval == schedule.getIntervalOfReception();
+        }
+
+        private synchronized boolean isBusy(final int minute) {
+
+            final int slot = (minute - startMinute) / interval;
+
+            return minute >= startMinute
+                    && slot <= lastSlot
+                    && (slots[slot / BITS_IN_WORD] & (1L << (slot % BITS_IN_WORD))) != 0;
+        }
+
+        /** Отмечает занятыми все интервалы, которые пересекает прием, начинающийся в указанное время */
+        private synchronized void markBusy(final int minute) {
+
+            final int lastMinute = minute + interval - 1;
+
+            if (lastMinute < startMinute) {
+                return;
+            }
+
+            final int fromSlot = Math.max(minute - startMinute, 0) / interval;
+            final int toSlot = Math.min((lastMinute - startMinute) / interval, lastSlot);
+
+            for (int slot = fromSlot; slot <= toSlot; slot++) {
+                slots[slot / BITS_IN_WORD] |= 1L << (slot % BITS_IN_WORD);
+            }
+            freeSlots = null;
+        }
+
+        /** Возвращает время начала свободных интервалов, вычисляя его только после изменения маски */
+        private synchronized FreeSlotsDTO getFreeSlots() {
+
+            if (freeSlots == null) {
+
+                final List<LocalDateTime> freeDateTimes = new ArrayList<>();
+
+                for (int slot = 0; slot <= lastSlot; slot++) {
+                    if ((slots[slot / BITS_IN_WORD] & (1L << (slot % BITS_IN_WORD))) == 0) {
+                        final int minute = startMinute + slot * interval;
+                        freeDateTimes.add(date.atTime(minute / MINUTES_IN_HOUR, minute % MINUTES_IN_HOUR));
+                    }
+                }
+
+                final String version = DigestUtils.md5DigestAsHex(
+                        (scheduleId + ":" + freeDateTimes).getBytes(StandardCharsets.UTF_8)
+                );
+
+                freeSlots = new FreeSlotsDTO(scheduleId, date, Collections.unmodifiableList(freeDateTimes), version);
+            }
+
+            return freeSlots;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package appointments.services;
+
+import appointments.domain.ScheduleTemplate;
+import appointments.dto.ScheduleMaterializationDTO;
+import appointments.dto.ScheduleTemplateDTO;
+import appointments.dto.ServiceSimpleDTO;
+import appointments.exceptions.ScheduleTemplateNotFoundException;
+import appointments.exceptions.ServiceNotFoundException;
+import appointments.exceptions.SpecialistNotFoundException;
+import appointments.mappers.ScheduleTemplateMapper;
+import appointments.repos.ScheduleTemplatesRepository;
+import appointments.repos.SchedulesBatchRepository;
+import appointments.repos.SchedulesBatchRepository.ScheduleInterval;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static appointments.services.ResourceVersions.Resource.SCHEDULES;
+import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.SPECIALIST_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.TEMPLATE_EMPTY_ID_MESSAGE;
+import static appointments.utils.Constants.TEMPLATE_INCORRECT_START_DATE_MESSAGE;
+import static appointments.utils.Constants.TEMPLATE_MAX_WEEKS;
+import static appointments.utils.Constants.TEMPLATE_NOT_FOUND_MESSAGE;
+import static appointments.utils.Constants.TEMPLATE_WRONG_WEEKS;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Класс, реализующий действия с объектами Шаблон расписания:
+ * сохранение, удаление, получение списка шаблонов,
+ * создание по шаблонам расписаний на несколько недель вперед
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@org.springframework.stereotype.Service
+public class ScheduleTemplatesService {
+
+    /** Поле для хранения экземпляра репозитория шаблонов расписаний */
+    private ScheduleTemplatesRepository scheduleTemplatesRepository;
+
+    /** Поле для хранения экземпляра репозитория пакетного создания расписаний */
+    private SchedulesBatchRepository schedulesBatchRepository;
+
+    /** Поле для хранения экземпляра репозитория услуг */
+    private ServicesRepository servicesRepository;
+
+    /** Поле для хранения экземпляра репозитория специалистов */
+    private SpecialistsRepository specialistsRepository;
+
+    /** Поле для хранения экземпляра маппера шаблонов расписаний в DTO */
+    private ScheduleTemplateMapper mapper;
+
+    /** Поле для хранения индекса расписаний по услугам */
+    private ServiceScheduleIndex serviceScheduleIndex;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    public ScheduleTemplatesService(
+            ScheduleTemplatesRepository scheduleTemplatesRepository,
+            SchedulesBatchRepository schedulesBatchRepository,
+            ServicesRepository servicesRepository,
+            SpecialistsRepository specialistsRepository,
+            ScheduleTemplateMapper mapper,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ResourceVersions resourceVersions
+    ) {
+        this.scheduleTemplatesRepository = scheduleTemplatesRepository;
+        this.schedulesBatchRepository = schedulesBatchRepository;
+        this.servicesRepository = servicesRepository;
+        this.specialistsRepository = specialistsRepository;
+        this.mapper = mapper;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /** Метод для добавления нового шаблона расписания */
+    @Transactional
+    public ScheduleTemplateDTO addTemplate(final ScheduleTemplateDTO dto) {
+
+        final ScheduleTemplate template = mapper.scheduleTemplateDTOToScheduleTemplate(dto);
+
+        template.setId(null);
+        template.setSpecialist(
+                specialistsRepository
+                        .findById(dto.getSpecialist().getId())
+                        .orElseThrow(() -> new SpecialistNotFoundException(
+                                        SPECIALIST_NOT_FOUND_MESSAGE + dto.getSpecialist().getId()
+                                )
+                        )
+        );
+        template.setServices(
+                dto.getServices()
+                        .stream()
+                        .map(ServiceSimpleDTO::getId)
+                        .map(id -> servicesRepository
+                                .findById(id)
+                                .orElseThrow(() -> new ServiceNotFoundException(SERVICE_NOT_FOUND_MESSAGE + id)))
+                        .collect(toList())
+        );
+
+        final ScheduleTemplate savedTemplate = scheduleTemplatesRepository.save(template);
+
+        log.info("Added new schedule template: {}", savedTemplate);
+
+        return mapper.scheduleTemplateToScheduleTemplateDTO(savedTemplate);
+    }
+
+    /** Метод для удаления шаблона расписания по идентификатору.
+     * Созданные по шаблону расписания сохраняются */
+    @Transactional
+    public void removeTemplate(final Integer id) {
+
+        if (id == null) {
+            log.error(TEMPLATE_EMPTY_ID_MESSAGE);
+            throw new IllegalArgumentException(TEMPLATE_EMPTY_ID_MESSAGE);
+        }
+
+        final ScheduleTemplate template = scheduleTemplatesRepository
+                .findById(id)
+                .orElseThrow(() -> new ScheduleTemplateNotFoundException(TEMPLATE_NOT_FOUND_MESSAGE + id));
+
+        scheduleTemplatesRepository.delete(template);
+
+        log.info("Schedule template with id = {} deleted", id);
+    }
+
+    /** Метод для получения списка шаблонов расписаний */
+    @Transactional(readOnly = true)
+    public List<ScheduleTemplateDTO> getTemplates() {
+
+        log.debug("Getting list of all schedule templates");
+
+        return mapper.scheduleTemplateListToScheduleTemplateDTOList(
+                scheduleTemplatesRepository.findAllWithSpecialists()
+        );
+    }
+
+    /** Метод для создания расписаний по всем шаблонам на указанное количество недель, начиная с указанной даты.
+     * Расписания, пересекающиеся по часам приема с уже существующими расписаниями специалиста, пропускаются,
+     * поэтому повторный вызов безопасен. Строки специалистов блокируются до конца транзакции,
+     * чтобы параллельные вызовы не создали пересекающиеся расписания.
+     * Все расписания создаются в одной транзакции пакетными вставками */
+    @Transactional
+    public ScheduleMaterializationDTO materializeSchedules(final LocalDate startDate, final int weeks) {
+
+        if (startDate == null || startDate.isBefore(LocalDate.now())) {
+            log.error("Value of parameter 'startDate' is before current date: {}", startDate);
+            throw new IllegalArgumentException(TEMPLATE_INCORRECT_START_DATE_MESSAGE);
+        }
+
+        if (weeks < 1 || weeks > TEMPLATE_MAX_WEEKS) {
+            log.error("Parameter 'weeks' is out of range: {}", weeks);
+            throw new IllegalArgumentException(TEMPLATE_WRONG_WEEKS);
+        }
+
+        final LocalDate endDate = startDate.plusWeeks(weeks).minusDays(1);
+
+        scheduleTemplatesRepository.flush();
+
+        final List<ScheduleTemplate> templates = scheduleTemplatesRepository
+                .findAllWithSpecialists()
+                .stream()
+                .filter(template -> template.getSpecialist().isActive())
+                .collect(toList());
+
+        schedulesBatchRepository.lockSpecialists(
+                templates
+                        .stream()
+                        .map(template -> template.getSpecialist().getId())
+                        .collect(toCollection(TreeSet::new))
+        );
+
+        final Map<ScheduleTemplate, List<LocalDate>> datesByTemplate = new LinkedHashMap<>();
+        final int skippedSchedules = getDatesByTemplate(
+                templates,
+                schedulesBatchRepository.findSpecialistIntervals(startDate, endDate),
+                startDate,
+                endDate,
+                datesByTemplate
+        );
+
+        final int createdSchedules = schedulesBatchRepository.insertSchedules(datesByTemplate);
+        final int createdLinks = schedulesBatchRepository.insertTemplateServices(startDate, endDate);
+
+        serviceScheduleIndex.evictAllAfterCommit();
+        resourceVersions.touchAfterCommit(SCHEDULES);
+
+        log.info("Created {} schedules with {} services links from templates within period: {} - {}, skipped {}",
+                createdSchedules, createdLinks, startDate, endDate, skippedSchedules);
+
+        return new ScheduleMaterializationDTO(startDate, endDate, createdSchedules, skippedSchedules);
+    }
+
+    /** Служебный метод, подбирающий для каждого шаблона даты периода с подходящим днем недели,
+     * на которые часы приема шаблона не пересекаются с уже занятыми часами специалиста.
+     * Возвращает количество пропущенных из-за пересечения дат */
+    private static int getDatesByTemplate(
+            final List<ScheduleTemplate> templates,
+            final Map<Integer, List<ScheduleInterval>> busyIntervalsBySpecialist,
+            final LocalDate startDate,
+            final LocalDate endDate,
+            final Map<ScheduleTemplate, List<LocalDate>> datesByTemplate
+    ) {
+
+        int skippedDates = 0;
+
+        for (ScheduleTemplate template : templates) {
+
+            final List<ScheduleInterval> busyIntervals = busyIntervalsBySpecialist
+                    .computeIfAbsent(template.getSpecialist().getId(), id -> new ArrayList<>());
+            final List<LocalDate> dates = new ArrayList<>();
+
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+
+                if (!template.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                    continue;
+                }
+
+                final ScheduleInterval interval
+                        = new ScheduleInterval(date, template.getStartTime(), template.getEndTime());
+
+                if (busyIntervals.stream().anyMatch(interval::overlaps)) {
+                    log.debug("Schedule template with id = {} overlaps existing schedule on {}",
+                            template.getId(), date);
+                    skippedDates++;
+                    continue;
+                }
+
+                busyIntervals.add(interval);
+                dates.add(date);
+            }
+
+            datesByTemplate.put(template, dates);
+        }
+
+        return skippedDates;
+    }
+}
@@ -1,6 +1,8 @@
 package appointments.services;
 
 import appointments.domain.Schedule;
+import appointments.dto.CursorPageDTO;
+import appointments.dto.FreeSlotsDTO;
 import appointments.dto.ScheduleDTO;
 import appointments.dto.ServiceSimpleDTO;
 import appointments.exceptions.EntityDependencyException;
@@ -9,29 +11,48 @@ import appointments.exceptions.ServiceNotFoundException;
 import appointments.exceptions.SpecialistNotFoundException;
 import appointments.mappers.ScheduleMapper;
 import appointments.repos.ReservationsRepository;
+import appointments.repos.ReservationsRepository.ScheduleReservationView;
 import appointments.repos.SchedulesRepository;
+import appointments.repos.SchedulesRepository.ScheduleServiceView;
+import appointments.repos.SchedulesRepository.ScheduleView;
 import appointments.repos.ServicesRepository;
 import appointments.repos.SpecialistsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+import static appointments.services.ResourceVersions.Resource.SCHEDULES;
+import static appointments.utils.Constants.CURSOR_INCORRECT_MESSAGE;
+import static appointments.utils.Constants.METRIC_SCHEDULES_PAGE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_ID_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_INCORRECT_DATE_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_IS_ALREADY_USED;
 import static appointments.utils.Constants.SCHEDULE_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_NOT_FOUND_MESSAGE;
+import static appointments.utils.CursorUtils.checkPageSize;
+import static appointments.utils.CursorUtils.decode;
+import static appointments.utils.CursorUtils.encode;
+import static appointments.utils.CursorUtils.parseKey;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
 /**
  * Класс, реализующий действия с объектами Расписание:
- * сохранение, удаление, получение списка расписаний
+ * сохранение, удаление, получение списка расписаний, получение свободного времени приема
  *
  * @author yanchenko_evgeniya
  */
@@ -39,6 +60,9 @@ import static java.util.stream.Collectors.toList;
 @org.springframework.stereotype.Service
 public class SchedulesService {
 
+    /** Количество значений в курсоре расписаний: дата, время начала приема, идентификатор */
+    private static final int CURSOR_KEYS_COUNT = 3;
+
     /** Поле для хранения экземпляра репозитория */
     private SchedulesRepository schedulesRepository;
 
@@ -54,19 +78,39 @@ public class SchedulesService {
     /** Поле для хранения экземпляра маппера расписаний в DTO */
     private ScheduleMapper mapper;
 
+    /** Поле для хранения индекса занятости интервалов приема в расписаниях */
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    /** Поле для хранения индекса расписаний по услугам */
+    private ServiceScheduleIndex serviceScheduleIndex;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
+    /** Таймер получения страницы расписаний */
+    private Timer getSchedulesTimer;
+
     @Autowired
     public SchedulesService(
             SchedulesRepository schedulesRepository,
             ReservationsRepository reservationsRepository,
             ServicesRepository servicesRepository,
             SpecialistsRepository specialistsRepository,
-            ScheduleMapper mapper
+            ScheduleMapper mapper,
+            ScheduleOccupancyIndex occupancyIndex,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ResourceVersions resourceVersions,
+            MeterRegistry meterRegistry
     ) {
         this.schedulesRepository = schedulesRepository;
         this.reservationsRepository = reservationsRepository;
         this.servicesRepository = servicesRepository;
         this.specialistsRepository = specialistsRepository;
         this.mapper = mapper;
+        this.occupancyIndex = occupancyIndex;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.resourceVersions = resourceVersions;
+        this.getSchedulesTimer = meterRegistry.timer(METRIC_SCHEDULES_PAGE);
     }
 
     /** Метод для добавления нового расписания */
@@ -101,6 +145,8 @@ public class SchedulesService {
         schedule.setReservations(new ArrayList<>());
 
         final Schedule savedSchedule = schedulesRepository.save(schedule);
+        serviceScheduleIndex.add(savedSchedule);
+        resourceVersions.touchAfterCommit(SCHEDULES);
 
         log.info("Added new schedule: {}", savedSchedule);
 
@@ -124,7 +170,10 @@ public class SchedulesService {
             throw new EntityDependencyException(SCHEDULE_IS_ALREADY_USED);
         }
 
+        serviceScheduleIndex.remove(schedule);
         schedulesRepository.delete(schedule);
+        occupancyIndex.evict(id);
+        resourceVersions.touchAfterCommit(SCHEDULES);
 
         log.info("Schedule with id = {} deleted", id);
     }
@@ -147,14 +196,139 @@ public class SchedulesService {
         );
     }
 
+    /** Метод для получения свободного времени приема в расписании с указанным идентификатором */
+    @Transactional(readOnly = true)
+    public FreeSlotsDTO getFreeSlots(final Long id) {
+
+        log.debug("Getting free slots of schedule with id = {}", id);
+
+        if (id == null) {
+            log.error(SCHEDULE_EMPTY_ID_MESSAGE);
+            throw new IllegalArgumentException(SCHEDULE_EMPTY_ID_MESSAGE);
+        }
+
+        return occupancyIndex.getFreeSlots(id, () -> schedulesRepository
+                .findById(id)
+                .orElseThrow(() -> new ScheduleNotFoundException(SCHEDULE_NOT_FOUND_MESSAGE + id))
+        );
+    }
+
+    /** Метод для получения свободного времени приема во всех расписаниях на указанную дату */
+    @Transactional(readOnly = true)
+    public List<FreeSlotsDTO> getFreeSlotsByDate(final LocalDate date) {
+
+        log.debug("Getting free slots of schedules on {}", date);
+
+        if (date == null) {
+            log.error("Parameter 'date' is null");
+            throw new IllegalArgumentException(SCHEDULE_INCORRECT_DATE_MESSAGE);
+        }
+
+        return schedulesRepository
+                .findIdsByDate(date)
+                .stream()
+                .map(this::getFreeSlots)
+                .collect(toList());
+    }
+
     /** Метод для получения списка расписаний */
     @Transactional(readOnly = true)
     public Page<ScheduleDTO> getSchedules(Pageable pageable, LocalDate date) {
 
         log.debug("Getting list of all schedules");
 
-        return mapper.schedulePageToScheduleDTOPage(
-                schedulesRepository.findAllByDateOrderByStartTime(pageable, date)
+        return getSchedulesTimer.record(() -> {
+
+            final Page<ScheduleView> schedules = schedulesRepository.findAllViewsByDate(date, pageable);
+
+            return new PageImpl<>(toScheduleDTOs(schedules.getContent()), pageable, schedules.getTotalElements());
+        });
+    }
+
+    /** Метод для получения страницы расписаний на дату, следующей за курсором.
+     * Выборка идет по ключу (дата, время начала приема, идентификатор) без смещения и подсчета общего количества */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ScheduleDTO> getSchedulesAfter(final LocalDate date, final String cursor, final int size) {
+
+        log.debug("Getting page of schedules on {} after cursor {}", date, cursor);
+
+        if (date == null) {
+            log.error("Parameter 'date' is null");
+            throw new IllegalArgumentException(SCHEDULE_INCORRECT_DATE_MESSAGE);
+        }
+        checkPageSize(size);
+
+        final Pageable limit = PageRequest.of(0, size + 1);
+        final List<ScheduleView> schedules;
+
+        if (cursor == null) {
+            schedules = schedulesRepository.findAllViewsByDateOrderByStartTimeAndId(date, limit);
+        } else {
+            final String[] keys = decode(cursor, CURSOR_KEYS_COUNT);
+
+            if (!date.equals(parseKey(keys[0], LocalDate::parse))) {
+                log.error("Cursor {} does not belong to date {}", cursor, date);
+                throw new IllegalArgumentException(CURSOR_INCORRECT_MESSAGE);
+            }
+
+            schedules = schedulesRepository.findAllViewsByDateAfterKey(
+                    date,
+                    parseKey(keys[1], LocalTime::parse),
+                    parseKey(keys[2], Long::valueOf),
+                    limit
+            );
+        }
+
+        if (schedules.size() <= size) {
+            return new CursorPageDTO<>(toScheduleDTOs(schedules), null);
+        }
+
+        final List<ScheduleView> page = schedules.subList(0, size);
+        final ScheduleView last = page.get(size - 1);
+
+        return new CursorPageDTO<>(
+                toScheduleDTOs(page),
+                encode(last.getDate(), last.getStartTime(), last.getId())
         );
     }
+
+    /** Служебный метод, преобразующий страницу расписаний в DTO за постоянное количество запросов:
+     * расписания, услуги и идентификаторы записей на прием читаются проекциями без создания сущностей */
+    private List<ScheduleDTO> toScheduleDTOs(final List<ScheduleView> schedules) {
+
+        if (schedules.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Long> ids = schedules
+                .stream()
+                .map(ScheduleView::getId)
+                .collect(toList());
+
+        final Map<Long, List<ServiceSimpleDTO>> services = schedulesRepository
+                .findServicesByScheduleIdIn(ids)
+                .stream()
+                .collect(groupingBy(
+                        ScheduleServiceView::getScheduleId,
+                        mapping(view -> new ServiceSimpleDTO(view.getServiceId(), view.getServiceName()), toList())
+                ));
+
+        final Map<Long, List<Long>> reservationIds = reservationsRepository
+                .findIdsByScheduleIdIn(ids)
+                .stream()
+                .collect(groupingBy(
+                        ScheduleReservationView::getScheduleId,
+                        mapping(ScheduleReservationView::getId, toList())
+                ));
+
+        return schedules
+                .stream()
+                .map(schedule -> {
+                    final ScheduleDTO dto = mapper.scheduleViewToScheduleDto(schedule);
+                    dto.setServices(services.getOrDefault(schedule.getId(), new ArrayList<>()));
+                    dto.setReservationIds(reservationIds.getOrDefault(schedule.getId(), new ArrayList<>()));
+                    return dto;
+                })
+                .collect(toList());
+    }
 }
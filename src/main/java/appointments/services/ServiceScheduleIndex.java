@@ -0,0 +1,210 @@
+package appointments.services;
+
+import appointments.domain.Schedule;
+import appointments.domain.Service;
+import appointments.repos.SchedulesRepository;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+
+
+/**
+ * Класс, хранящий в памяти расписания каждой услуги, упорядоченные по дате и времени начала приема
+ * (по данным связи services_schedules). Индекс строится одним запросом при первом обращении
+ * и дополняется после фиксации транзакций, добавляющих или удаляющих расписания.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class ServiceScheduleIndex {
+
+    /** Поле для хранения экземпляра репозитория расписаний */
+    private SchedulesRepository schedulesRepository;
+
+    /** Расписания услуг, ключ - идентификатор услуги; null - если индекс еще не построен */
+    private volatile ConcurrentMap<Integer, NavigableSet<Entry>> schedulesByService;
+
+    /** Счетчик изменений, по которому определяется, что индекс изменился во время построения */
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    @Autowired
+    public ServiceScheduleIndex(SchedulesRepository schedulesRepository) {
+        this.schedulesRepository = schedulesRepository;
+    }
+
+    /** Метод, возвращающий расписания услуги в указанном периоде в порядке даты и времени начала приема */
+    public NavigableSet<Entry> getSchedules(final Integer serviceId, final LocalDate from, final LocalDate to) {
+
+        final NavigableSet<Entry> schedules = getSchedulesByService().get(serviceId);
+
+        if (schedules == null) {
+            return Collections.emptyNavigableSet();
+        }
+
+        return schedules.subSet(
+                new Entry(null, null, from, LocalTime.MIN),
+                true,
+                new Entry(null, null, to.plusDays(1), LocalTime.MIN),
+                false
+        );
+    }
+
+    /** Метод для добавления расписания в индекс после фиксации текущей транзакции */
+    public void add(final Schedule schedule) {
+
+        final List<Integer> serviceIds = getServiceIds(schedule);
+        final Entry entry = new Entry(schedule);
+
+        afterCommit(() -> serviceIds.forEach(serviceId -> getSchedulesByService()
+                .computeIfAbsent(serviceId, id -> new ConcurrentSkipListSet<>())
+                .add(entry)
+        ));
+    }
+
+    /** Метод для удаления расписания из индекса после фиксации текущей транзакции */
+    public void remove(final Schedule schedule) {
+
+        final List<Integer> serviceIds = getServiceIds(schedule);
+        final Entry entry = new Entry(schedule);
+
+        afterCommit(() -> serviceIds.forEach(serviceId -> {
+            final NavigableSet<Entry> schedules = getSchedulesByService().get(serviceId);
+            if (schedules != null) {
+                schedules.remove(entry);
+            }
+        }));
+    }
+
+    /** Метод для сброса индекса: он будет построен заново при следующем обращении */
+    public synchronized void evictAll() {
+
+        modificationCount.incrementAndGet();
+        schedulesByService = null;
+        log.debug("Index of schedules by services evicted");
+    }
+
+    /** Метод для сброса индекса после фиксации текущей транзакции, например после пакетного создания расписаний */
+    public void evictAllAfterCommit() {
+        afterCommit(() -> schedulesByService = null);
+    }
+
+    /** Служебный метод, возвращающий индекс, при отсутствии строит его по данным из базы */
+    private ConcurrentMap<Integer, NavigableSet<Entry>> getSchedulesByService() {
+
+        final ConcurrentMap<Integer, NavigableSet<Entry>> existing = schedulesByService;
+
+        if (existing != null) {
+            return existing;
+        }
+
+        log.debug("Building index of schedules by services");
+
+        final long modificationsBefore = modificationCount.get();
+        final ConcurrentMap<Integer, NavigableSet<Entry>> built = new ConcurrentHashMap<>();
+
+        for (SchedulesRepository.ServiceScheduleView view : schedulesRepository.findAllServiceSchedules()) {
+            built
+                    .computeIfAbsent(view.getServiceId(), id -> new ConcurrentSkipListSet<>())
+                    .add(new Entry(view.getScheduleId(), view.getSpecialistId(), view.getDate(), view.getStartTime()));
+        }
+
+        synchronized (this) {
+            if (schedulesByService == null && modificationCount.get() == modificationsBefore) {
+                schedulesByService = built;
+            }
+        }
+
+        return built;
+    }
+
+    /** Служебный метод, выполняющий изменение индекса после фиксации транзакции (или сразу, если ее нет) */
+    private void afterCommit(final Runnable change) {
+
+        final Runnable countedChange = () -> {
+            synchronized (this) {
+                modificationCount.incrementAndGet();
+                if (schedulesByService != null) {
+                    change.run();
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    countedChange.run();
+                }
+            });
+
+        } else {
+            countedChange.run();
+        }
+    }
+
+    private static List<Integer> getServiceIds(final Schedule schedule) {
+
+        return schedule
+                .getServices()
+                .stream()
+                .map(Service::getId)
+                .collect(toList());
+    }
+
+
+    /**
+     * Расписание в индексе: упорядочивается по дате, времени начала приема и идентификатору
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Entry implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparing(Entry::getDate)
+                .thenComparing(Entry::getStartTime)
+                .thenComparing(Entry::getScheduleId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        /** Идентификатор расписания */
+        private final Long scheduleId;
+
+        /** Идентификатор специалиста, ведущего прием */
+        private final Integer specialistId;
+
+        /** Дата приема */
+        private final LocalDate date;
+
+        /** Время начала приема */
+        private final LocalTime startTime;
+
+        private Entry(final Schedule schedule) {
+            this(schedule.getId(), schedule.getSpecialist().getId(), schedule.getDate(), schedule.getStartTime());
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
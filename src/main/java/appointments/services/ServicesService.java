@@ -11,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static appointments.services.ReferenceResponseCache.ACTIVE_SERVICES;
+import static appointments.services.ResourceVersions.Resource.SERVICES;
 import static appointments.utils.Constants.SERVICE_EMPTY_ID_MESSAGE;
 import static appointments.utils.Constants.SERVICE_IS_ALREADY_USED;
 import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
@@ -33,13 +35,23 @@ public class ServicesService {
     /** Поле для хранения экземпляра репозитория расписаний */
     private SchedulesRepository schedulesRepository;
 
+    /** Поле для хранения экземпляра кэша готовых ответов справочников */
+    private ReferenceResponseCache responseCache;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
     @Autowired
     public ServicesService(
             ServicesRepository servicesRepository,
-            SchedulesRepository schedulesRepository
+            SchedulesRepository schedulesRepository,
+            ReferenceResponseCache responseCache,
+            ResourceVersions resourceVersions
     ) {
         this.servicesRepository = servicesRepository;
         this.schedulesRepository = schedulesRepository;
+        this.responseCache = responseCache;
+        this.resourceVersions = resourceVersions;
     }
 
     /** Метод для добавления новой цели обращения (услуги) в справочник */
@@ -50,6 +62,9 @@ public class ServicesService {
 
         log.info("Added new service: {}", service);
 
+        responseCache.evictAfterCommit(ACTIVE_SERVICES);
+        resourceVersions.touchAfterCommit(SERVICES);
+
         return service;
     }
 
@@ -72,6 +87,9 @@ public class ServicesService {
         servicesRepository.delete(service);
 
         log.info("Service with id = {} deleted", id);
+
+        responseCache.evictAfterCommit(ACTIVE_SERVICES);
+        resourceVersions.touchAfterCommit(SERVICES);
     }
 
     /** Метод для поиска цели обращения по идентификатору */
@@ -107,6 +125,9 @@ public class ServicesService {
         log.info("Service with id = {} {}", id, makeActive ? "activated" : "deactivated");
 
         servicesRepository.save(service);
+
+        responseCache.evictAfterCommit(ACTIVE_SERVICES);
+        resourceVersions.touchAfterCommit(SERVICES);
     }
 
     /** Метод для получения списка целей обращения (услуг) */
@@ -131,4 +152,10 @@ public class ServicesService {
                 .filter(Service::isActive)
                 .collect(toList());
     }
+
+    /** Метод, возвращающий готовый JSON-ответ со списком активных услуг.
+     * Список загружается из базы и сериализуется только после изменения справочника */
+    public ReferenceResponseCache.CachedResponse getActiveServicesResponse() {
+        return responseCache.get(ACTIVE_SERVICES, this::getActiveServices);
+    }
 }
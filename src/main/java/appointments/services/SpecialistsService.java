@@ -17,11 +17,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static appointments.services.ReferenceResponseCache.ACTIVE_SPECIALISTS;
+import static appointments.services.ResourceVersions.Resource.SCHEDULES;
+import static appointments.services.ResourceVersions.Resource.SPECIALISTS;
 import static appointments.utils.Constants.ORGANIZATION_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_EMPTY_ID_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_IS_ALREADY_USED;
 import static appointments.utils.Constants.SPECIALIST_NOT_FOUND_MESSAGE;
-import static java.util.stream.Collectors.toList;
 
 
 /**
@@ -46,17 +48,27 @@ public class SpecialistsService {
     /** Поле для хранения экземпляра маппера специалистов в DTO */
     private SpecialistMapper mapper;
 
+    /** Поле для хранения экземпляра кэша готовых ответов справочников */
+    private ReferenceResponseCache responseCache;
+
+    /** Поле для хранения версий коллекций для условных GET-запросов */
+    private ResourceVersions resourceVersions;
+
     @Autowired
     public SpecialistsService(
             SpecialistsRepository specialistsRepository,
             OrganizationsRepository organizationsRepository,
             SchedulesRepository schedulesRepository,
-            SpecialistMapper mapper
+            SpecialistMapper mapper,
+            ReferenceResponseCache responseCache,
+            ResourceVersions resourceVersions
     ) {
         this.specialistsRepository = specialistsRepository;
         this.organizationsRepository = organizationsRepository;
         this.schedulesRepository = schedulesRepository;
         this.mapper = mapper;
+        this.responseCache = responseCache;
+        this.resourceVersions = resourceVersions;
     }
 
 
@@ -80,6 +92,9 @@ public class SpecialistsService {
         final Specialist savedSpecialist = specialistsRepository.save(specialist);
         log.info("Added new specialist: {}", savedSpecialist);
 
+        responseCache.evictAfterCommit(ACTIVE_SPECIALISTS);
+        resourceVersions.touchAfterCommit(SPECIALISTS);
+
         return mapper.specialistToSpecialistDto(savedSpecialist);
     }
 
@@ -130,6 +145,10 @@ public class SpecialistsService {
         specialistsRepository.save(foundSpecialist);
 
         log.info("Specialist with id = {} edited: {}", specialist.getId(), foundSpecialist);
+
+        responseCache.evictAfterCommit(ACTIVE_SPECIALISTS);
+        // имя специалиста входит и в ответы со списками расписаний
+        resourceVersions.touchAfterCommit(SPECIALISTS, SCHEDULES);
     }
 
     /** Метод для удаления специалиста по идентификатору */
@@ -151,6 +170,9 @@ public class SpecialistsService {
         specialistsRepository.delete(specialist);
 
         log.info("Specialist with id = {} deleted", id);
+
+        responseCache.evictAfterCommit(ACTIVE_SPECIALISTS);
+        resourceVersions.touchAfterCommit(SPECIALISTS);
     }
 
     /** Метод, осуществляющий смену статуса активности специалиста */
@@ -170,6 +192,9 @@ public class SpecialistsService {
         log.info("Specialist with id = {} {}", id, makeActive ? "activated" : "deactivated");
 
         specialistsRepository.save(specialist);
+
+        responseCache.evictAfterCommit(ACTIVE_SPECIALISTS);
+        resourceVersions.touchAfterCommit(SPECIALISTS);
     }
 
     /** Метод для получения списка специалистов */
@@ -178,7 +203,7 @@ public class SpecialistsService {
 
         log.debug("Getting list of all specialists");
 
-        return mapper.specialistListToSpecialistDTOList(specialistsRepository.findAllByOrderByName());
+        return specialistsRepository.findAllAsDTO();
     }
 
     /** Метод для получения списка только активных специалистов */
@@ -187,12 +212,12 @@ public class SpecialistsService {
 
         log.debug("Getting list of active specialists");
 
-        return mapper.specialistListToSpecialistDTOList(
-                specialistsRepository
-                        .findAllByOrderByName()
-                        .stream()
-                        .filter(Specialist::isActive)
-                        .collect(toList())
-        );
+        return specialistsRepository.findAllActiveAsDTO();
+    }
+
+    /** Метод, возвращающий готовый JSON-ответ со списком активных специалистов.
+     * Список загружается из базы и сериализуется только после изменения справочника */
+    public ReferenceResponseCache.CachedResponse getActiveSpecialistsResponse() {
+        return responseCache.get(ACTIVE_SPECIALISTS, this::getActiveSpecialists);
     }
 }
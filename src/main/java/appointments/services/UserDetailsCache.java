@@ -0,0 +1,75 @@
+package appointments.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static appointments.utils.Constants.SECURITY_USER_CACHE_MAX_SIZE;
+import static appointments.utils.Constants.SECURITY_USER_CACHE_TTL_MINUTES;
+
+
+/**
+ * Класс-кэш учетных записей пользователей для DaoAuthenticationProvider.
+ * Ограничен по количеству записей и времени жизни записи, поэтому изменения учетной записи,
+ * сделанные в обход сервисов, видны не позже чем через SECURITY_USER_CACHE_TTL_MINUTES минут.
+ * Наружу отдаются копии: после аутентификации Spring Security стирает пароль у возвращенного объекта,
+ * и без копирования закэшированная запись стала бы непригодной для следующей проверки пароля.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@Component
+public class UserDetailsCache implements UserCache {
+
+    /** Учетные записи, ключ - имя учетной записи */
+    private final Cache<String, UserDetails> users = Caffeine
+            .newBuilder()
+            .maximumSize(SECURITY_USER_CACHE_MAX_SIZE)
+            .expireAfterWrite(SECURITY_USER_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Override
+    public UserDetails getUserFromCache(final String username) {
+
+        final UserDetails user = users.getIfPresent(username);
+
+        return user == null ? null : User.withUserDetails(user).build();
+    }
+
+    @Override
+    public void putUserInCache(final UserDetails user) {
+        users.put(user.getUsername(), User.withUserDetails(user).build());
+    }
+
+    @Override
+    public void removeUserFromCache(final String username) {
+
+        users.invalidate(username);
+        log.debug("User {} removed from cache", username);
+    }
+
+    /** Метод для удаления учетной записи из кэша после фиксации текущей транзакции (или сразу, если ее нет) */
+    public void removeUserFromCacheAfterCommit(final String username) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    removeUserFromCache(username);
+                }
+            });
+
+        } else {
+            removeUserFromCache(username);
+        }
+    }
+}
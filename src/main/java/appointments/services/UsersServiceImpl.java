@@ -9,6 +9,7 @@ import appointments.repos.RolesRepository;
 import appointments.repos.UsersRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,6 +23,7 @@ import static appointments.utils.Constants.ROLE_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.USER_ALREADY_EXISTS_MESSAGE;
 import static appointments.utils.Constants.USER_EMPTY_USERNAME_MESSAGE;
 import static appointments.utils.Constants.USER_NOT_FOUND_MESSAGE;
+import static appointments.utils.PersistenceUtils.isUniqueViolation;
 import static java.util.Collections.singletonList;
 
 /**
@@ -38,18 +40,21 @@ public class UsersServiceImpl implements UsersService {
     private RolesRepository rolesRepository;
     private BCryptPasswordEncoder passwordEncoder;
     private UserMapper mapper;
+    private UserDetailsCache userCache;
 
     @Autowired
     public UsersServiceImpl(
             UsersRepository usersRepository,
             RolesRepository rolesRepository,
             BCryptPasswordEncoder passwordEncoder,
-            UserMapper mapper
+            UserMapper mapper,
+            UserDetailsCache userCache
     ) {
         this.usersRepository = usersRepository;
         this.rolesRepository = rolesRepository;
         this.passwordEncoder = passwordEncoder;
         this.mapper = mapper;
+        this.userCache = userCache;
     }
 
     /** Метод для поиска пользователя по уникальному имени */
@@ -85,15 +90,13 @@ public class UsersServiceImpl implements UsersService {
         );
     }
 
-    /** Метод для добавления нового пользователя */
+    /** Метод для добавления нового пользователя.
+     * Занятость имени учетной записи проверяет ограничение уникальности users.username,
+     * без предварительного поиска пользователя */
     @Override
     @Transactional
     public UserDTO addUser(UserDTO dto) {
 
-        if (usersRepository.findOneByUsername(dto.getUsername()).isPresent()) {
-            throw new UserAlreadyExistsException(USER_ALREADY_EXISTS_MESSAGE + dto.getUsername());
-        }
-
         final User user = mapper.userDTOToUser(dto);
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
         if (user.getRole().getId() == null) {
@@ -103,11 +106,23 @@ public class UsersServiceImpl implements UsersService {
                             .orElseThrow(() -> new RoleNotFoundException(ROLE_NOT_FOUND_MESSAGE + DEFAULT_ROLE_NAME))
             );
         }
-        final User savedUser = usersRepository.save(user);
+        final User savedUser;
+
+        try {
+            savedUser = usersRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+
+            // в таблице users уникально только имя учетной записи
+            if (isUniqueViolation(e)) {
+                throw new UserAlreadyExistsException(USER_ALREADY_EXISTS_MESSAGE + dto.getUsername());
+            }
+            throw e;
+        }
+
         log.info("Added new user: {}", savedUser);
 
+        userCache.removeUserFromCacheAfterCommit(savedUser.getUsername());
+
         return mapper.userToUserDTO(savedUser);
     }
-
-
 }
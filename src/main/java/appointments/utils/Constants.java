@@ -5,6 +5,12 @@ package appointments.utils;
  */
 public class Constants {
 
+    /** Общие константы сущностей */
+
+    /** Количество идентификаторов, выделяемых Hibernate за одно обращение к последовательности,
+     * должно совпадать с шагом последовательностей в миграциях */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /** Константы для сущности Child */
 
     public static final int CHILD_MIN_BIRTH_CERTIFICATE_SERIES_LENGTH = 3;
@@ -85,6 +91,8 @@ public class Constants {
             = "Контактная информация организации должна быть указана";
 
     public static final String ORGANIZATION_NOT_FOUND_MESSAGE = "Организация не найдена. ID: ";
+    public static final String ORGANIZATION_EMPTY_ID_MESSAGE = "ID организации не должен быть пустым";
+    public static final String ORGANIZATION_DEFAULT_NOT_FOUND_MESSAGE = "Не найдено ни одной организации";
 
 
 
@@ -168,6 +176,22 @@ public class Constants {
 
 
 
+    /** Константы для сущности ScheduleTemplate и класса ScheduleTemplatesService */
+
+    public static final int TEMPLATE_MAX_WEEKS = 26;
+
+    public static final String TEMPLATE_EMPTY_ID_MESSAGE = "ID шаблона расписания не должен быть пустым";
+    public static final String TEMPLATE_NOT_FOUND_MESSAGE = "Шаблон расписания не найден. ID: ";
+    public static final String TEMPLATE_EMPTY_DAYS_MESSAGE = "Для шаблона расписания должны быть указаны дни недели";
+
+    public static final String TEMPLATE_WRONG_WEEKS = "Количество недель должно быть от 1 до "
+            + TEMPLATE_MAX_WEEKS;
+
+    public static final String TEMPLATE_INCORRECT_START_DATE_MESSAGE
+            = "Дата начала должна быть указана и не может быть раньше текущей даты";
+
+
+
     /** Константы для сущности Reservation и класса ReservationService */
 
     public static final String RESERVATION_EMPTY_ID_MESSAGE = "ID записи на прием не должен быть пустым";
@@ -185,6 +209,11 @@ public class Constants {
     public static final String RESERVATION_EMPTY_CHILD_MESSAGE
             = "Для записи на прием должен быть указан ребенок";
 
+    public static final String RESERVATION_TIME_IS_BUSY_MESSAGE = "Это время уже занято";
+
+    /** Время на выгрузку всех записей на прием: остальные асинхронные запросы ограничены таймаутом по умолчанию */
+    public static final long RESERVATIONS_EXPORT_TIMEOUT_MILLIS = 600_000L;
+
 
     /** Константы для сущности User */
 
@@ -247,5 +276,61 @@ public class Constants {
     public static final String SECURITY_ROLE_ADMIN_NAME = "ADMIN";
     public static final String SECURITY_ROLE_USER_NAME = "USER";
 
+    /** Максимальное количество пользователей в кэше учетных записей и время жизни записи в кэше */
+    public static final int SECURITY_USER_CACHE_MAX_SIZE = 1000;
+    public static final int SECURITY_USER_CACHE_TTL_MINUTES = 5;
+    public static final int SECURITY_TOKEN_DEFAULT_TTL_MINUTES = 60;
+
+    /** Период пакетной записи времени последнего обращения к сессиям в общем хранилище сессий */
+    public static final int SESSION_LAST_ACCESS_FLUSH_INTERVAL_SECONDS = 10;
+
+    /** Имена метрик приложения, все начинаются с appointments - для них включены гистограммы */
+
+    public static final String METRIC_RESERVATIONS_ADD = "appointments.reservations.add";
+    public static final String METRIC_RESERVATIONS_CHECK_TIME = "appointments.reservations.check-time";
+    public static final String METRIC_SCHEDULES_PAGE = "appointments.schedules.page";
+    public static final String METRIC_REPOSITORY_INVOCATIONS = "appointments.repository.invocations";
+    public static final String METRIC_ERRORS = "appointments.errors";
+    public static final String METRIC_SQL_STATEMENTS = "appointments.sql.statements";
+    public static final String METRIC_SQL_TIME = "appointments.sql.time";
+    public static final String METRIC_SQL_ROWS = "appointments.sql.rows";
+    public static final String METRIC_SQL_IDENTICAL_STATEMENTS = "appointments.sql.identical-statements";
+
+    /** Количество одинаковых SQL-запросов за один HTTP-запрос, после которого пишется предупреждение о N+1 */
+    public static final int SQL_IDENTICAL_STATEMENTS_DEFAULT_THRESHOLD = 10;
+
+    /** Константы для постраничного вывода с курсором */
+
+    public static final String CURSOR_PAGE_DEFAULT_SIZE = "20";
+    public static final int CURSOR_PAGE_MAX_SIZE = 100;
+
+    public static final String CURSOR_WRONG_PAGE_SIZE = "Размер страницы должен быть от 1 до "
+            + CURSOR_PAGE_MAX_SIZE;
+
+    public static final String CURSOR_INCORRECT_MESSAGE = "Некорректный курсор постраничного вывода";
+
+    /** Константы для поиска свободного времени приема */
+
+    public static final String AVAILABILITY_DEFAULT_LIMIT = "10";
+    public static final int AVAILABILITY_MAX_LIMIT = 100;
+
+    public static final String AVAILABILITY_WRONG_LIMIT = "Количество свободного времени должно быть от 1 до "
+            + AVAILABILITY_MAX_LIMIT;
+
+    public static final String AVAILABILITY_INCORRECT_PERIOD_MESSAGE
+            = "Период поиска свободного времени не заполнен или некорректен";
+
+    /** Максимальное количество расписаний в индексе занятости и время хранения маски без обращений к ней */
+    public static final int SCHEDULE_OCCUPANCY_MAX_SIZE = 20000;
+    public static final int SCHEDULE_OCCUPANCY_TTL_MINUTES = 30;
+
+    /** Константы для генератора синтетических данных */
+
+    public static final String SYNTHETIC_DATA_NO_ORGANIZATIONS_MESSAGE
+            = "Нет организаций для специалистов синтетических данных";
+
+    public static final String SYNTHETIC_DATA_NO_SERVICES_MESSAGE
+            = "Нет активных услуг для расписаний синтетических данных";
+
 
 }
@@ -0,0 +1,86 @@
+package appointments.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static appointments.utils.Constants.CURSOR_INCORRECT_MESSAGE;
+import static appointments.utils.Constants.CURSOR_PAGE_MAX_SIZE;
+import static appointments.utils.Constants.CURSOR_WRONG_PAGE_SIZE;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Служебный класс для постраничного вывода с курсором.
+ * Курсор - значения ключа сортировки последнего элемента страницы, закодированные в Base64,
+ * поэтому для клиента он непрозрачен, а следующая страница выбирается по индексу без смещения и подсчета строк
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+public final class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtils() {
+    }
+
+    /** Метод для кодирования значений ключа сортировки в курсор */
+    public static String encode(Object... keys) {
+
+        final String joinedKeys = Arrays
+                .stream(keys)
+                .map(String::valueOf)
+                .collect(joining(SEPARATOR));
+
+        return Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(joinedKeys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Метод для разбора курсора на значения ключа сортировки */
+    public static String[] decode(final String cursor, final int keysCount) {
+
+        final String[] keys;
+
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            log.error("Cursor is not a valid Base64 string: {}", cursor);
+            throw new IllegalArgumentException(CURSOR_INCORRECT_MESSAGE);
+        }
+
+        if (keys.length != keysCount) {
+            log.error("Cursor has {} keys instead of {}: {}", keys.length, keysCount, cursor);
+            throw new IllegalArgumentException(CURSOR_INCORRECT_MESSAGE);
+        }
+
+        return keys;
+    }
+
+    /** Метод для преобразования значения ключа из курсора в нужный тип */
+    public static <T> T parseKey(final String key, final Function<String, T> parser) {
+
+        try {
+            return parser.apply(key);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            log.error("Cursor key has wrong format: {}", key);
+            throw new IllegalArgumentException(CURSOR_INCORRECT_MESSAGE);
+        }
+    }
+
+    /** Метод для проверки размера страницы */
+    public static void checkPageSize(final int size) {
+
+        if (size < 1 || size > CURSOR_PAGE_MAX_SIZE) {
+            log.error("Page size is out of range: {}", size);
+            throw new IllegalArgumentException(CURSOR_WRONG_PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package appointments.utils;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Служебный класс для разбора ошибок сохранения в базу.
+ * Нарушение уникальности определяется по коду SQLSTATE, а не по имени ограничения в тексте ошибки:
+ * код одинаков в PostgreSQL и H2, а имена ограничений H2 переводит в верхний регистр
+ *
+ * @author yanchenko_evgeniya
+ */
+public final class PersistenceUtils {
+
+    /** Код SQLSTATE нарушения ограничения уникальности */
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private PersistenceUtils() {
+    }
+
+    /** Метод для проверки, что ошибка сохранения вызвана нарушением ограничения уникальности */
+    public static boolean isUniqueViolation(final DataIntegrityViolationException e) {
+
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                return UNIQUE_VIOLATION_SQL_STATE.equals(((SQLException) cause).getSQLState());
+            }
+        }
+
+        return false;
+    }
+}
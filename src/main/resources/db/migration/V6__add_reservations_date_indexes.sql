@@ -0,0 +1,3 @@
+CREATE INDEX schedules_date_start_time_idx ON schedules (date, start_time);
+
+CREATE INDEX reservations_schedule_id_idx ON reservations (schedule_id);
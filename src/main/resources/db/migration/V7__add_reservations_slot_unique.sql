@@ -0,0 +1,4 @@
+ALTER TABLE reservations
+    ADD CONSTRAINT reservations_schedule_id_date_time_key UNIQUE (schedule_id, date_time);
+
+DROP INDEX reservations_schedule_id_idx;
@@ -0,0 +1 @@
+CREATE INDEX reservations_date_time_id_idx ON reservations (date_time, id);
@@ -0,0 +1,24 @@
+CREATE TABLE schedule_templates (
+    id SERIAL PRIMARY KEY,
+    specialist_id INTEGER NOT NULL REFERENCES specialists (id),
+    room_number VARCHAR(16) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    interval_of_reception SMALLINT NOT NULL
+);
+
+CREATE TABLE schedule_templates_days (
+    template_id INTEGER REFERENCES schedule_templates (id) ON DELETE CASCADE,
+    day_of_week VARCHAR(9) NOT NULL,
+    PRIMARY KEY (template_id, day_of_week)
+);
+
+CREATE TABLE services_schedule_templates (
+    service_id INTEGER REFERENCES services (id),
+    template_id INTEGER REFERENCES schedule_templates (id) ON DELETE CASCADE,
+    PRIMARY KEY (service_id, template_id)
+);
+
+ALTER TABLE schedules ADD COLUMN template_id INTEGER REFERENCES schedule_templates (id) ON DELETE SET NULL;
+
+CREATE INDEX schedules_template_id_date_idx ON schedules (template_id, date);
@@ -22,6 +22,9 @@ class App extends React.Component {
 
         this.pageSize = 2;
 
+        // последние полученные ответы по адресам: тело, ETag и Last-Modified для условных запросов
+        this.responses = {};
+
         this.state = {
             schedules: [],
             isSchedulesLoaded: false,
@@ -37,7 +40,9 @@ class App extends React.Component {
             isPopupVisible: false,
             calendarDate: new Date(),
             page: {
-                pageNumber: 0,
+                cursor: null,
+                nextCursor: null,
+                previousCursors: [],
                 size: this.pageSize
             }
         };
@@ -55,7 +60,9 @@ class App extends React.Component {
         this.setState({
                 calendarDate: date,
                 page: {
-                    pageNumber: 0,
+                    cursor: null,
+                    nextCursor: null,
+                    previousCursors: [],
                     size: this.pageSize
                 }
             },
@@ -77,11 +84,12 @@ class App extends React.Component {
         });
     };
 
-    changePageNumber = (number) => {
+    showNextPage = () => {
         this.setState(previousState => ({
                 page: {
                     ...previousState.page,
-                    pageNumber: number
+                    cursor: previousState.page.nextCursor,
+                    previousCursors: [...previousState.page.previousCursors, previousState.page.cursor]
                 }
             }),
             () => {
@@ -90,19 +98,70 @@ class App extends React.Component {
         );
     };
 
-    fetchAllSchedules = () => {
+    showPreviousPage = () => {
+        this.setState(previousState => ({
+                page: {
+                    ...previousState.page,
+                    cursor: previousState.page.previousCursors[previousState.page.previousCursors.length - 1],
+                    previousCursors: previousState.page.previousCursors.slice(0, -1)
+                }
+            }),
+            () => {
+                this.fetchAllSchedules()
+            }
+        );
+    };
 
-        const date = this.state.calendarDate.toISOString().split('T')[0];
-        const schedulesUrl = '/schedules/?date=' + date + '&page=' + this.state.page.pageNumber + '&size=' + this.state.page.size;
+    fetchJson = (url) => {
+
+        const cached = this.responses[url];
+        const headers = {};
+
+        if (cached) {
+            if (cached.eTag) {
+                headers['If-None-Match'] = cached.eTag;
+            }
+            if (cached.lastModified) {
+                headers['If-Modified-Since'] = cached.lastModified;
+            }
+        }
 
-        fetch(
-            schedulesUrl,
+        return fetch(
+            url,
             {
                 credentials: 'include',
-                mode: 'cors'
+                mode: 'cors',
+                cache: 'no-store',
+                headers: headers
             }
         )
-            .then(response => response.json())
+            .then(response => {
+
+                if (response.status === 304 && cached) {
+                    return cached.body;
+                }
+
+                return response.json().then(body => {
+
+                    const eTag = response.headers.get('ETag');
+                    const lastModified = response.headers.get('Last-Modified');
+
+                    if (response.ok && (eTag || lastModified)) {
+                        this.responses[url] = {eTag, lastModified, body};
+                    }
+                    return body;
+                });
+            });
+    };
+
+    fetchAllSchedules = () => {
+
+        const date = this.state.calendarDate.toISOString().split('T')[0];
+        const {cursor, size} = this.state.page;
+        const cursorParameter = cursor ? '&cursor=' + encodeURIComponent(cursor) : '';
+        const schedulesUrl = '/schedules/cursor?date=' + date + '&size=' + size + cursorParameter;
+
+        this.fetchJson(schedulesUrl)
             .then((page) => {
 
                 const schedules = page.content.map(schedule => {
@@ -128,9 +187,7 @@ class App extends React.Component {
                 this.setState(previousState => ({
                     page: {
                         ...previousState.page,
-                        isEmpty: page.empty,
-                        totalPages: page.totalPages,
-                        pageNumber: page.number
+                        nextCursor: page.nextCursor
                     },
                     schedules: schedules,
                     isSchedulesLoaded: true
@@ -145,14 +202,7 @@ class App extends React.Component {
 
         const organizationUrl = '/organization';
 
-        fetch(
-            organizationUrl,
-            {
-                credentials: 'include',
-                mode: 'cors'
-            }
-        )
-            .then(response => response.json())
+        this.fetchJson(organizationUrl)
             .then((organization) => {
 
                 this.setState({
@@ -183,14 +233,7 @@ class App extends React.Component {
 
         const servicesUrl = '/services/active';
 
-        return fetch(
-            servicesUrl,
-            {
-                credentials: 'include',
-                mode: 'cors'
-            }
-        )
-            .then(response => response.json())
+        return this.fetchJson(servicesUrl)
             .catch((error) => {
                 console.error('Request failed', error);
             });
@@ -200,14 +243,7 @@ class App extends React.Component {
 
         const specialistsUrl = '/specialists/active';
 
-        return fetch(
-            specialistsUrl,
-            {
-                credentials: 'include',
-                mode: 'cors'
-            }
-        )
-            .then(response => response.json())
+        return this.fetchJson(specialistsUrl)
             .catch((error) => {
                 console.error('Request failed', error);
             });
@@ -218,11 +254,7 @@ class App extends React.Component {
 
         const servicesUrl = '/services/';
 
-        fetch(servicesUrl, {
-            credentials: 'include',
-            mode: 'cors'
-        })
-            .then(response => response.json())
+        this.fetchJson(servicesUrl)
             .then((allServices) => {
                 this.setState({
                     services: allServices,
@@ -238,11 +270,7 @@ class App extends React.Component {
 
         const specialistsUrl = '/specialists/';
 
-        fetch(specialistsUrl, {
-            credentials: 'include',
-            mode: 'cors'
-        })
-            .then(response => response.json())
+        this.fetchJson(specialistsUrl)
             .then((allSpecialists) => {
                 this.setState({
                     specialists: allSpecialists,
@@ -284,10 +312,17 @@ class App extends React.Component {
             </FormPopup>
             : <Button handleShowForm={this.fetchActiveServicesAndSpecialists}/>;
 
-        const {isEmpty, totalPages, pageNumber} = this.state.page;
+        const {nextCursor, previousCursors} = this.state.page;
+
+        const hasPrevious = previousCursors.length > 0;
+        const hasNext = nextCursor !== null;
 
-        const showPagination = (!isEmpty && totalPages > 1)
-            ? <Pagination pageNumber={pageNumber} totalPages={totalPages} changePageNumber={this.changePageNumber}/>
+        const showPagination = (hasPrevious || hasNext)
+            ? <Pagination hasPrevious={hasPrevious}
+                          hasNext={hasNext}
+                          showPreviousPage={this.showPreviousPage}
+                          showNextPage={this.showNextPage}
+            />
             : '';
 
         const schedulesHeaderText = "Расписание записи на прием";
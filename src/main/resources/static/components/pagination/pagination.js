@@ -3,24 +3,19 @@ import React from 'react';
 
 class Pagination extends React.Component {
 
-    isCurrentPage = (value) => {
-        return 'page-item ' + ((value === this.props.pageNumber) ? 'active' : '');
-    };
-
     render() {
 
-        const pageNumbers = [...Array(this.props.totalPages).keys()];
-
-        const numbersToDisplay = pageNumbers.map((pageNumber) =>
-            <li className={this.isCurrentPage(pageNumber)} key={pageNumber.toString()}>
-                <button className="page-link" onClick={() => this.props.changePageNumber(pageNumber)}>{pageNumber + 1}</button>
-            </li>
-        );
+        const {hasPrevious, hasNext, showPreviousPage, showNextPage} = this.props;
 
         return (
             <nav aria-label="schedulesTablePagination">
                 <ul className="pagination justify-content-center">
-                    {numbersToDisplay}
+                    <li className={'page-item ' + (hasPrevious ? '' : 'disabled')}>
+                        <button className="page-link" disabled={!hasPrevious} onClick={showPreviousPage}>Назад</button>
+                    </li>
+                    <li className={'page-item ' + (hasNext ? '' : 'disabled')}>
+                        <button className="page-link" disabled={!hasNext} onClick={showNextPage}>Вперед</button>
+                    </li>
                 </ul>
             </nav>
         );
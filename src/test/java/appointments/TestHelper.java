@@ -13,10 +13,15 @@ import appointments.repos.ChildrenRepository;
 import appointments.repos.OrganizationsRepository;
 import appointments.repos.ReservationsRepository;
 import appointments.repos.RolesRepository;
+import appointments.repos.ScheduleTemplatesRepository;
 import appointments.repos.SchedulesRepository;
 import appointments.repos.ServicesRepository;
 import appointments.repos.SpecialistsRepository;
 import appointments.repos.UsersRepository;
+import appointments.services.OrganizationRegistry;
+import appointments.services.ReferenceResponseCache;
+import appointments.services.ResourceVersions;
+import appointments.services.ServiceScheduleIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -102,10 +107,23 @@ public class TestHelper {
     private ServicesRepository servicesRepository;
     private SpecialistsRepository specialistsRepository;
     private SchedulesRepository schedulesRepository;
+    private ScheduleTemplatesRepository scheduleTemplatesRepository;
     private ReservationsRepository reservationsRepository;
     private RolesRepository rolesRepository;
     private UsersRepository usersRepository;
 
+    /** Индекс расписаний по услугам, сбрасывается при перезаполнении таблиц в обход сервисов */
+    private ServiceScheduleIndex serviceScheduleIndex;
+
+    /** Кэш готовых ответов справочников, также сбрасывается при перезаполнении таблиц */
+    private ReferenceResponseCache referenceResponseCache;
+
+    /** Версии коллекций для условных GET-запросов, увеличиваются при перезаполнении таблиц */
+    private ResourceVersions resourceVersions;
+
+    /** Справочник организаций в памяти, перечитывается после перезаполнения таблиц */
+    private OrganizationRegistry organizationRegistry;
+
     @Autowired
     public TestHelper(
             ChildrenRepository childrenRepository,
@@ -113,18 +131,28 @@ public class TestHelper {
             ServicesRepository servicesRepository,
             SpecialistsRepository specialistsRepository,
             SchedulesRepository schedulesRepository,
+            ScheduleTemplatesRepository scheduleTemplatesRepository,
             ReservationsRepository reservationsRepository,
             RolesRepository rolesRepository,
-            UsersRepository usersRepository
+            UsersRepository usersRepository,
+            ServiceScheduleIndex serviceScheduleIndex,
+            ReferenceResponseCache referenceResponseCache,
+            ResourceVersions resourceVersions,
+            OrganizationRegistry organizationRegistry
     ) {
         this.childrenRepository = childrenRepository;
         this.organizationsRepository = organizationsRepository;
         this.servicesRepository = servicesRepository;
         this.specialistsRepository = specialistsRepository;
         this.schedulesRepository = schedulesRepository;
+        this.scheduleTemplatesRepository = scheduleTemplatesRepository;
         this.reservationsRepository = reservationsRepository;
         this.rolesRepository = rolesRepository;
         this.usersRepository = usersRepository;
+        this.serviceScheduleIndex = serviceScheduleIndex;
+        this.referenceResponseCache = referenceResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.organizationRegistry = organizationRegistry;
     }
 
     /** Метод для логина пользователя с ролью ADMIN и получения идентификатора сессии */
@@ -142,6 +170,13 @@ public class TestHelper {
     public void refill() {
         clearAll();
         initAll();
+        // вставки с идентификаторами из последовательностей откладываются до flush,
+        // а интеграционные тесты читают данные через REST в другом соединении
+        reservationsRepository.flush();
+        serviceScheduleIndex.evictAll();
+        referenceResponseCache.evictAll();
+        resourceVersions.touchAll();
+        organizationRegistry.refresh();
     }
 
 
@@ -426,6 +461,7 @@ public class TestHelper {
     public void clearAll() {
         clearReservations();
         clearSchedules();
+        clearScheduleTemplates();
         clearSpecialists();
         clearServices();
         clearOrganizations();
@@ -459,6 +495,11 @@ public class TestHelper {
         schedulesRepository.deleteAll();
     }
 
+    /** Метод для очистки таблицы schedule_templates */
+    public void clearScheduleTemplates() {
+        scheduleTemplatesRepository.deleteAll();
+    }
+
     /** Метод для очистки таблицы reservations */
     public void clearReservations() {
         reservationsRepository.deleteAll();
@@ -0,0 +1,76 @@
+package appointments.integration;
+
+import appointments.TestHelper;
+import appointments.integration.utils.TestRestClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты метрик, доступных сборщику Prometheus на порту управления
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private TestRestClient restClient;
+
+    private String jSessionId;
+
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        restClient = new TestRestClient(restTemplate);
+        jSessionId = testHelper.loginAsAdmin(restClient);
+    }
+
+    @Test
+    public void testPrometheusEndpoint() {
+
+        restClient.exchange(
+                "/schedules/?date={date}&page=0&size=10", jSessionId, HttpMethod.GET, String.class, LocalDate.now()
+        );
+        restClient.exchange("/services/{id}", jSessionId, HttpMethod.GET, String.class, Integer.MIN_VALUE);
+
+        final ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("appointments_schedules_page_seconds_bucket")
+                .contains("appointments_repository_invocations_seconds_count{exception=\"none\","
+                        + "method=\"findAllViewsByDate\",repository=\"SchedulesRepository\",}")
+                .contains("appointments_errors_total{type=\"not_found\",}")
+                .contains("hikaricp_connections_active")
+                .contains("cache_gets_total{cache=\"appointments.domain.Service\",result=\"hit\",}");
+    }
+}
@@ -0,0 +1,137 @@
+package appointments.integration;
+
+import appointments.TestHelper;
+import appointments.domain.Organization;
+import appointments.integration.utils.TestRestClient;
+import appointments.repos.OrganizationsRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static appointments.utils.Constants.ORGANIZATION_NOT_FOUND_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class OrganizationControllerIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private OrganizationsRepository organizationsRepository;
+
+    private TestRestClient restClient;
+
+    private String jSessionId;
+
+    private final String endpoint = "/organization";
+    private final String endpointWithId = "/organization/{id}";
+
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        restClient = new TestRestClient(restTemplate);
+        jSessionId = testHelper.loginAsAdmin(restClient);
+    }
+
+    @Test
+    public void testGetDefaultOrganization() {
+
+        final Organization expectedOrganization = organizationsRepository
+                .findAll()
+                .stream()
+                .min(Comparator.comparing(Organization::getId))
+                .orElse(null);
+
+        final ResponseEntity<Organization> response = restClient.exchange(
+                endpoint,
+                jSessionId,
+                HttpMethod.GET,
+                Organization.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(expectedOrganization);
+        assertThat(response.getBody().getName()).isEqualTo(expectedOrganization.getName());
+        assertThat(response.getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    public void testGetOrganizationById() {
+
+        final List<Organization> organizations = organizationsRepository.findAll();
+
+        for (Organization organization : organizations) {
+
+            final ResponseEntity<Organization> response = restClient.exchange(
+                    endpointWithId,
+                    jSessionId,
+                    HttpMethod.GET,
+                    Organization.class,
+                    organization.getId()
+            );
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getName()).isEqualTo(organization.getName());
+        }
+    }
+
+    @Test
+    public void testGetOrganizationByIdWithWrongId() {
+
+        final int id = Integer.MIN_VALUE;
+
+        final ResponseEntity<String> response = restClient.exchange(
+                endpointWithId,
+                jSessionId,
+                HttpMethod.GET,
+                String.class,
+                id
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isEqualTo(ORGANIZATION_NOT_FOUND_MESSAGE + id);
+    }
+
+    @Test
+    public void testGetOrganizationNotModified() {
+
+        final ResponseEntity<Organization> response = restClient.exchange(
+                endpoint,
+                jSessionId,
+                HttpMethod.GET,
+                Organization.class
+        );
+
+        final ResponseEntity<Organization> conditionalResponse = restClient.getIfNoneMatch(
+                endpoint,
+                jSessionId,
+                response.getHeaders().getETag(),
+                Organization.class
+        );
+
+        assertThat(conditionalResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}
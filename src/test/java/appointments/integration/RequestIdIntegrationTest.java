@@ -0,0 +1,84 @@
+package appointments.integration;
+
+import appointments.TestHelper;
+import appointments.integration.utils.TestRestClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static appointments.config.RequestIdFilter.REQUEST_ID_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты идентификатора запроса для журнала
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class RequestIdIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    private String jSessionId;
+
+    private final String endpoint = "/services/active";
+
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        jSessionId = testHelper.loginAsAdmin(new TestRestClient(restTemplate));
+    }
+
+    @Test
+    public void testRequestIdReturnedFromHeader() {
+
+        final String requestId = "balancer-42.a_b";
+
+        final ResponseEntity<String> response = get(requestId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(REQUEST_ID_HEADER)).isEqualTo(requestId);
+    }
+
+    @Test
+    public void testRequestIdGeneratedForInvalidHeader() {
+
+        final String requestId = "line\tbreak";
+
+        final ResponseEntity<String> response = get(requestId);
+
+        assertThat(response.getHeaders().getFirst(REQUEST_ID_HEADER)).isNotEmpty().isNotEqualTo(requestId);
+        assertThat(get(null).getHeaders().getFirst(REQUEST_ID_HEADER)).isNotEmpty();
+    }
+
+    private ResponseEntity<String> get(final String requestId) {
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, "JSESSIONID=" + jSessionId);
+
+        if (requestId != null) {
+            headers.add(REQUEST_ID_HEADER, requestId);
+        }
+
+        return restTemplate.exchange(endpoint, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
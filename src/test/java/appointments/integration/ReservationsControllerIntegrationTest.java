@@ -34,6 +34,7 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.List;
 
+import static appointments.integration.utils.SqlStatisticsAssert.assertStatementsCount;
 import static appointments.utils.Constants.CHILD_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_EMPTY_CHILD_MESSAGE;
 import static appointments.utils.Constants.RESERVATION_EMPTY_SCHEDULE_MESSAGE;
@@ -260,6 +261,7 @@ public class ReservationsControllerIntegrationTest {
 
         final ReservationDTO actualReservationDTO = response.getBody();
 
+        assertStatementsCount(response, 1);
         assertThat(actualReservationDTO.getId()).isEqualTo(id);
         assertThat(actualReservationDTO.getDateTime()).isEqualTo(DATE_TIME);
         assertThat(actualReservationDTO.getScheduleId()).isEqualTo(schedule.getId());
@@ -1,21 +1,28 @@
 package appointments.integration;
 
 import appointments.TestHelper;
+import appointments.domain.Child;
 import appointments.domain.Reservation;
 import appointments.domain.Schedule;
 import appointments.domain.Service;
 import appointments.domain.Specialist;
+import appointments.dto.FreeSlotsDTO;
+import appointments.dto.ReservationDTO;
 import appointments.dto.ScheduleDTO;
 import appointments.dto.ServiceSimpleDTO;
 import appointments.dto.SpecialistSimpleDTO;
 import appointments.integration.utils.RestPageImpl;
 import appointments.integration.utils.TestRestClient;
 import appointments.mappers.ScheduleMapper;
+import appointments.repos.ChildrenRepository;
 import appointments.repos.ReservationsRepository;
 import appointments.repos.SchedulesRepository;
 import appointments.repos.ServicesRepository;
 import appointments.repos.SpecialistsRepository;
+import appointments.services.ReservationsService;
 import appointments.services.SchedulesService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,12 +39,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
 import java.util.List;
 
+import static appointments.integration.utils.SqlStatisticsAssert.assertStatementsCountAtMost;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_END_TIME_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_INTERVAL_MESSAGE;
 import static appointments.utils.Constants.SCHEDULE_EMPTY_ROOM_NUMBER_MESSAGE;
@@ -75,6 +84,12 @@ public class SchedulesControllerIntegrationTest {
     private static final int PAGE_SIZE = 5;
     private static final int INITIAL_PAGE = 0;
     private static final PageRequest PAGE_REQUEST = PageRequest.of(INITIAL_PAGE, PAGE_SIZE);
+    private static final LocalDate FUTURE_DATE = LocalDate.of(2030, Month.MARCH, 1);
+    private static final int FUTURE_SCHEDULES = 10;
+    private static final int FUTURE_PAGE_SIZE = 20;
+    private static final long MAX_PAGE_STATEMENTS = 4;
+    private static final LocalDate RESERVATION_DATE = LocalDate.of(YEAR, Month.AUGUST, 12);
+    private static final LocalTime RESERVATION_TIME = LocalTime.of(10, 15);
 
     private Specialist specialist;
     private List<Service> services;
@@ -102,9 +117,18 @@ public class SchedulesControllerIntegrationTest {
     @Autowired
     private ReservationsRepository reservationsRepository;
 
+    @Autowired
+    private ChildrenRepository childrenRepository;
+
     @Autowired
     private SchedulesService schedulesService;
 
+    @Autowired
+    private ReservationsService reservationsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private TestRestClient restClient;
 
     private String jSessionId;
@@ -146,7 +170,7 @@ public class SchedulesControllerIntegrationTest {
 
         assertThat(scheduleDTOs.getTotalElements()).isEqualTo(
                 schedulesRepository
-                        .findAllByDateOrderByStartTime(PAGE_REQUEST, ANOTHER_DATE)
+                        .findAllViewsByDate(ANOTHER_DATE, PAGE_REQUEST)
                         .getTotalElements()
                 );
 
@@ -165,6 +189,53 @@ public class SchedulesControllerIntegrationTest {
 
     }
 
+    @Test
+    public void testGetSchedulesPageStatementsCount() {
+
+        final List<Specialist> specialists = specialistsRepository.findAll();
+        final Child child = childrenRepository.findAll().get(0);
+        final List<Schedule> schedules = new ArrayList<>();
+
+        for (int i = 0; i < FUTURE_SCHEDULES; i++) {
+            schedules.add(new Schedule(
+                    null, specialists.get(i % specialists.size()), ROOM_NUMBER, FUTURE_DATE, new ArrayList<>(services),
+                    START_TIME.plusMinutes(i), END_TIME, INTERVAL, null
+            ));
+        }
+        schedulesRepository.saveAll(schedules);
+        reservationsRepository.saveAll(
+                schedules
+                        .stream()
+                        .map(s -> new Reservation(
+                                null, FUTURE_DATE.atTime(s.getStartTime()), s, services.get(0), true, child
+                        ))
+                        .collect(toList())
+        );
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final ResponseEntity<RestPageImpl<ScheduleDTO>> response = restClient.getPage(
+                endpoint + "?date={date}&page={page}&size={size}",
+                jSessionId,
+                new ParameterizedTypeReference<RestPageImpl<ScheduleDTO>>() { },
+                FUTURE_DATE,
+                INITIAL_PAGE,
+                FUTURE_PAGE_SIZE
+        );
+
+        final long loadedEntities = statistics.getEntityLoadCount();
+
+        assertThat(response.getBody().getContent())
+                .hasSize(FUTURE_SCHEDULES)
+                .allSatisfy(s -> {
+                    assertThat(s.getServices()).hasSameSizeAs(services);
+                    assertThat(s.getReservationIds()).hasSize(1);
+                });
+        assertStatementsCountAtMost(response, MAX_PAGE_STATEMENTS);
+        assertThat(loadedEntities).isZero();
+    }
+
     @Test
     public void testGetScheduleById() {
 
@@ -658,4 +729,86 @@ public class SchedulesControllerIntegrationTest {
         assertThat(response.getBody()).contains(SCHEDULE_EMPTY_END_TIME_MESSAGE);
     }
 
+    @Test
+    @Transactional
+    public void testGetFreeSlotsNotModified() {
+
+        final Long id = schedulesRepository.findIdsByDate(ANOTHER_DATE).get(0);
+        final String userSessionId = testHelper.loginAsUser(restClient);
+
+        final ResponseEntity<FreeSlotsDTO> response = restClient.exchange(
+                endpointWithId + "/free-slots",
+                userSessionId,
+                HttpMethod.GET,
+                FreeSlotsDTO.class,
+                id
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getFreeSlots()).isNotEmpty();
+        assertThat(response.getHeaders().getETag()).isNotNull();
+
+        final ResponseEntity<FreeSlotsDTO> conditionalResponse = restClient.getIfNoneMatch(
+                endpointWithId + "/free-slots",
+                userSessionId,
+                response.getHeaders().getETag(),
+                FreeSlotsDTO.class,
+                id
+        );
+
+        assertThat(conditionalResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    public void testGetSchedulesPageNotModifiedUntilReservationAdded() {
+
+        final String url = endpoint + "cursor?date={date}";
+        final Schedule schedule = schedulesRepository.findOneBySpecialistAndDate(specialist, RESERVATION_DATE).get();
+
+        final ResponseEntity<String> response = restClient.exchange(
+                url,
+                jSessionId,
+                HttpMethod.GET,
+                String.class,
+                RESERVATION_DATE
+        );
+        final String eTag = response.getHeaders().getETag();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(eTag).isNotNull();
+
+        final ResponseEntity<String> notModifiedResponse = restClient.getIfNoneMatch(
+                url,
+                jSessionId,
+                eTag,
+                String.class,
+                RESERVATION_DATE
+        );
+
+        assertThat(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModifiedResponse.getBody()).isNull();
+
+        final Long reservationId = reservationsService.addReservation(
+                new ReservationDTO(
+                        null,
+                        RESERVATION_DATE.atTime(RESERVATION_TIME),
+                        schedule.getId(),
+                        services.get(0).getId(),
+                        true,
+                        childrenRepository.findAll().get(0).getId()
+                )
+        ).getId();
+
+        final ResponseEntity<String> changedResponse = restClient.getIfNoneMatch(
+                url,
+                jSessionId,
+                eTag,
+                String.class,
+                RESERVATION_DATE
+        );
+
+        assertThat(changedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changedResponse.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(changedResponse.getBody()).contains(String.valueOf(reservationId));
+    }
 }
@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static appointments.integration.utils.SqlStatisticsAssert.assertStatementsCount;
 import static appointments.utils.Constants.SERVICE_IS_ALREADY_USED;
 import static appointments.utils.Constants.SERVICE_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SERVICE_NULL_NAME_MESSAGE;
@@ -85,12 +86,44 @@ public class ServicesControllerIntegrationTest {
 
         final List<Service> services = response.getBody();
 
+        assertStatementsCount(response, 1);
         assertThat(services).hasSize(servicesRepository.findAll().size());
 
         assertThat(services).anySatisfy(s -> assertThat(s.getName()).isEqualTo(TestHelper.SERVICE_NAME_FIRST));
         assertThat(services).anySatisfy(s -> assertThat(s.getName()).isEqualTo(TestHelper.SERVICE_NAME_SECOND));
     }
 
+    @Test
+    public void testGetAllServicesNotModifiedUntilServiceAdded() {
+
+        final ResponseEntity<String> response = restClient.exchange(endpoint, jSessionId, HttpMethod.GET, String.class);
+        final String eTag = response.getHeaders().getETag();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(eTag).isNotNull();
+
+        final ResponseEntity<String> notModifiedResponse = restClient.getIfNoneMatch(
+            endpoint,
+            jSessionId,
+            eTag,
+            String.class
+        );
+
+        assertThat(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        servicesService.addService(TEST_SERVICE_NAME, true);
+
+        final ResponseEntity<String> changedResponse = restClient.getIfNoneMatch(
+            endpoint,
+            jSessionId,
+            eTag,
+            String.class
+        );
+
+        assertThat(changedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changedResponse.getBody()).contains(TEST_SERVICE_NAME);
+    }
+
     @Test
     public void testGetActiveServices() {
 
@@ -108,6 +141,32 @@ public class ServicesControllerIntegrationTest {
         assertThat(services).allSatisfy(Service::isActive);
     }
 
+    @Test
+    public void testGetActiveServicesNotModifiedUntilServiceChanged() {
+
+        final String url = endpoint + "active";
+        final Service service = servicesRepository.findOneByName(TestHelper.SERVICE_NAME_FIRST).orElse(null);
+
+        final ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        final String eTag = response.getHeaders().getETag();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains(TestHelper.SERVICE_NAME_FIRST);
+        assertThat(eTag).isNotNull();
+
+        final ResponseEntity<String> notModifiedResponse = restClient.getIfNoneMatch(url, null, eTag, String.class);
+
+        assertThat(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        servicesService.changeActiveState(service.getId(), false);
+
+        final ResponseEntity<String> changedResponse = restClient.getIfNoneMatch(url, null, eTag, String.class);
+
+        assertThat(changedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changedResponse.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(changedResponse.getBody()).doesNotContain(TestHelper.SERVICE_NAME_FIRST);
+    }
+
     @Test
     public void testGetServiceById() {
 
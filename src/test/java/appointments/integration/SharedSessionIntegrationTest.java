@@ -0,0 +1,122 @@
+package appointments.integration;
+
+import appointments.TestHelper;
+import appointments.config.LastAccessBatchingSessionRepository;
+import appointments.integration.utils.TestRestClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты общего хранилища сессий в базе данных.
+ * Период пакетной записи увеличен, чтобы время обращения записывалось только явным вызовом flush()
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.session.store-type=jdbc",
+                "spring.session.jdbc.last-access-flush-interval=PT1H"
+        }
+)
+public class SharedSessionIntegrationTest {
+
+    private static final String ADMIN_LOGIN = "admin";
+
+    /** Пауза между запросами, время обращения хранится с точностью до миллисекунды */
+    private static final long PAUSE_MILLIS = 5;
+
+    private static final String LAST_ACCESS_TIME_QUERY
+            = "SELECT last_access_time FROM spring_session WHERE principal_name = ?";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LastAccessBatchingSessionRepository<?> sessionRepository;
+
+    private TestRestClient restClient;
+
+    private final String endpoint = "/services";
+
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        jdbcTemplate.update("DELETE FROM spring_session");
+        restClient = new TestRestClient(restTemplate);
+    }
+
+    @Test
+    public void testLoginStoresSessionInDatabase() {
+
+        final String jSessionId = testHelper.loginAsAdmin(restClient);
+
+        final Integer sessionsCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM spring_session WHERE principal_name = ?", Integer.class, ADMIN_LOGIN
+        );
+
+        final ResponseEntity<String> response = restClient.exchange(
+                endpoint,
+                jSessionId,
+                HttpMethod.GET,
+                String.class
+        );
+
+        assertThat(jSessionId).isNotNull();
+        assertThat(sessionsCount).isEqualTo(1);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testLastAccessTimeWrittenOnFlush() throws InterruptedException {
+
+        final String jSessionId = testHelper.loginAsAdmin(restClient);
+        final Long loginAccessTime = jdbcTemplate.queryForObject(LAST_ACCESS_TIME_QUERY, Long.class, ADMIN_LOGIN);
+
+        Thread.sleep(PAUSE_MILLIS);
+
+        final ResponseEntity<String> response = restClient.exchange(
+                endpoint,
+                jSessionId,
+                HttpMethod.GET,
+                String.class
+        );
+
+        final Long accessTimeBeforeFlush = jdbcTemplate.queryForObject(
+                LAST_ACCESS_TIME_QUERY, Long.class, ADMIN_LOGIN
+        );
+
+        sessionRepository.flush();
+
+        final Long accessTimeAfterFlush = jdbcTemplate.queryForObject(
+                LAST_ACCESS_TIME_QUERY, Long.class, ADMIN_LOGIN
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(accessTimeBeforeFlush).isEqualTo(loginAccessTime);
+        assertThat(accessTimeAfterFlush).isGreaterThan(loginAccessTime);
+    }
+}
@@ -28,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static appointments.integration.utils.SqlStatisticsAssert.assertStatementsCount;
 import static appointments.utils.Constants.ORGANIZATION_NOT_FOUND_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_EMPTY_NAME_MESSAGE;
 import static appointments.utils.Constants.SPECIALIST_EMPTY_ORGANIZATION_MESSAGE;
@@ -99,6 +100,7 @@ public class SpecialistsControllerIntegrationTest {
 
         final List<SpecialistDTO> specialistDTOs = response.getBody();
 
+        assertStatementsCount(response, 1);
         assertThat(specialistDTOs).hasSize(specialistsRepository.findAll().size());
 
         assertThat(specialistDTOs)
@@ -128,6 +130,34 @@ public class SpecialistsControllerIntegrationTest {
         assertThat(specialistDTOs).allSatisfy(SpecialistDTO::isActive);
     }
 
+    @Test
+    public void testGetActiveSpecialistsNotModifiedUntilSpecialistChanged() {
+
+        final String url = endpoint + "active";
+        final Specialist specialist = specialistsRepository
+            .findOneByName(TestHelper.SPECIALIST_NAME_FIRST)
+            .orElse(null);
+
+        final ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        final String eTag = response.getHeaders().getETag();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains(TestHelper.SPECIALIST_NAME_FIRST);
+        assertThat(eTag).isNotNull();
+
+        final ResponseEntity<String> notModifiedResponse = restClient.getIfNoneMatch(url, null, eTag, String.class);
+
+        assertThat(notModifiedResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        specialistsService.changeActiveState(specialist.getId(), false);
+
+        final ResponseEntity<String> changedResponse = restClient.getIfNoneMatch(url, null, eTag, String.class);
+
+        assertThat(changedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changedResponse.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(changedResponse.getBody()).doesNotContain(TestHelper.SPECIALIST_NAME_FIRST);
+    }
+
     @Test
     public void testGetSpecialistById() {
 
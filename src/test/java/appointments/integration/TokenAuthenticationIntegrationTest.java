@@ -0,0 +1,136 @@
+package appointments.integration;
+
+import appointments.TestHelper;
+import appointments.dto.AuthenticationTokenDTO;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.net.HttpRetryException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Тесты режима аутентификации по подписанным токенам без сессий
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "security.token.enabled=true",
+                "security.token.secret=test-secret-of-at-least-thirty-two-bytes"
+        }
+)
+public class TokenAuthenticationIntegrationTest {
+
+    private static final String ADMIN_LOGIN = "admin";
+    private static final String ADMIN_PASSWORD = "100";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    private final String loginEndpoint = "/login";
+    private final String protectedEndpoint = "/services";
+
+
+    @Before
+    public void setUp() {
+        testHelper.refill();
+    }
+
+    @Test
+    public void testLoginIssuesTokenWithoutSession() {
+
+        final ResponseEntity<AuthenticationTokenDTO> response = login(ADMIN_LOGIN, ADMIN_PASSWORD);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().get(HttpHeaders.SET_COOKIE)).isNull();
+        assertThat(response.getBody().getToken()).isNotEmpty();
+        assertThat(response.getBody().getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    public void testLoginWithWrongPassword() {
+
+        // HttpURLConnection не отдает ответ 401 на POST с потоковым телом, а сообщает код в исключении
+        assertThatThrownBy(() -> login(ADMIN_LOGIN, ADMIN_PASSWORD + "0"))
+                .hasRootCauseInstanceOf(HttpRetryException.class)
+                .satisfies(e -> assertThat(HttpRetryException.class.cast(e.getCause()).responseCode())
+                        .isEqualTo(HttpStatus.UNAUTHORIZED.value()));
+    }
+
+    @Test
+    public void testRequestWithToken() {
+
+        final String token = login(ADMIN_LOGIN, ADMIN_PASSWORD).getBody().getToken();
+
+        final ResponseEntity<String> response = getWithToken(protectedEndpoint, token);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().get(HttpHeaders.SET_COOKIE)).isNull();
+    }
+
+    @Test
+    public void testRequestWithTamperedToken() {
+
+        final String token = login(ADMIN_LOGIN, ADMIN_PASSWORD).getBody().getToken();
+        final String tamperedToken = token.substring(0, token.length() - 1)
+                + (token.endsWith("A") ? "B" : "A");
+
+        final ResponseEntity<String> response = getWithToken(protectedEndpoint, tamperedToken);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    public void testRequestWithoutToken() {
+
+        final ResponseEntity<String> response = restTemplate.getForEntity(protectedEndpoint, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<AuthenticationTokenDTO> login(final String username, final String password) {
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        final MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("username", username);
+        form.add("password", password);
+
+        return restTemplate.postForEntity(
+                loginEndpoint, new HttpEntity<>(form, headers), AuthenticationTokenDTO.class
+        );
+    }
+
+    private ResponseEntity<String> getWithToken(final String path, final String token) {
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,49 @@
+package appointments.integration.utils;
+
+import org.springframework.http.ResponseEntity;
+
+import static appointments.config.SqlStatisticsFilter.ROWS_HEADER;
+import static appointments.config.SqlStatisticsFilter.STATEMENTS_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Служебный класс для проверки количества SQL-запросов, выполненных при обработке HTTP-запроса.
+ * Значения берутся из заголовков X-Sql-*, которые SqlStatisticsFilter добавляет при sql.statistics.response-headers.
+ * Позволяет закрепить количество запросов для endpoint и заметить появление N+1 при изменении кода.
+ *
+ * @author yanchenko_evgeniya
+ */
+public final class SqlStatisticsAssert {
+
+    private SqlStatisticsAssert() {
+    }
+
+    /** Метод для проверки точного количества SQL-запросов */
+    public static void assertStatementsCount(ResponseEntity<?> response, long expected) {
+        assertThat(getStatementsCount(response)).as("SQL statements count").isEqualTo(expected);
+    }
+
+    /** Метод для проверки, что количество SQL-запросов не больше указанного */
+    public static void assertStatementsCountAtMost(ResponseEntity<?> response, long max) {
+        assertThat(getStatementsCount(response)).as("SQL statements count").isLessThanOrEqualTo(max);
+    }
+
+    /** Метод, возвращающий количество SQL-запросов из заголовка ответа */
+    public static long getStatementsCount(ResponseEntity<?> response) {
+        return Long.parseLong(getHeader(response, STATEMENTS_HEADER));
+    }
+
+    /** Метод, возвращающий количество прочитанных и измененных строк из заголовка ответа */
+    public static long getRowsCount(ResponseEntity<?> response) {
+        return Long.parseLong(getHeader(response, ROWS_HEADER));
+    }
+
+    private static String getHeader(ResponseEntity<?> response, String header) {
+
+        final String value = response.getHeaders().getFirst(header);
+
+        assertThat(value).as(header + " header").isNotNull();
+
+        return value;
+    }
+}
@@ -83,6 +83,20 @@ public class TestRestClient {
     }
 
 
+    /** Метод для отправки условного GET-запроса: в заголовок If-None-Match добавляется ETag,
+     *  полученный в предыдущем ответе
+     */
+    public <T> ResponseEntity<T> getIfNoneMatch(
+            String restPath, String jSessionId, String eTag,
+            Class<T> responseType, Object... urlVariables
+    ) {
+
+        HttpHeaders headers = getHeadersWithCookie(jSessionId);
+        headers.setIfNoneMatch(eTag);
+
+        return restTemplate.exchange(restPath, HttpMethod.GET, new HttpEntity<>(headers), responseType, urlVariables);
+    }
+
     /** Служебный метод для установки идентификатора сессии в заголовки запроса */
     private HttpHeaders getHeadersWithCookie(String jSessionId) {
 
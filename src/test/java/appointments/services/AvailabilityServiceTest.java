@@ -0,0 +1,185 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.domain.Reservation;
+import appointments.domain.Service;
+import appointments.domain.Specialist;
+import appointments.dto.AvailableSlotDTO;
+import appointments.exceptions.ServiceNotFoundException;
+import appointments.repos.ReservationsRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AvailabilityServiceTest {
+
+    private static final String SERVICE_NAME = "Получение путевки в ДОО";
+    private static final int LIMIT = 5;
+    private static final int ACROSS_DAYS_LIMIT = 50;
+    private static final LocalTime NOW_TIME = LocalTime.of(10, 0);
+
+    private Service service;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private ServicesRepository servicesRepository;
+
+    @Autowired
+    private SpecialistsRepository specialistsRepository;
+
+    @Autowired
+    private ReservationsRepository reservationsRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        service = servicesRepository.findOneByName(SERVICE_NAME).orElse(null);
+        setNow(TestHelper.JULY_TWELVE.atStartOfDay());
+    }
+
+    @After
+    public void tearDown() {
+        availabilityService.setClock(Clock.systemDefaultZone());
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailable() {
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE, TestHelper.AUGUST_FIFTEEN, LIMIT
+        );
+
+        assertThat(slots).hasSize(LIMIT);
+        assertThat(slots)
+                .extracting(AvailableSlotDTO::getDateTime)
+                .isSorted()
+                .allSatisfy(dateTime -> assertThat(dateTime.toLocalDate()).isEqualTo(TestHelper.JULY_TWELVE));
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailableAcrossDays() {
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE, TestHelper.AUGUST_FIFTEEN, ACROSS_DAYS_LIMIT
+        );
+
+        final List<LocalDateTime> reservedDateTimes = reservationsRepository
+                .findAll()
+                .stream()
+                .map(Reservation::getDateTime)
+                .collect(toList());
+
+        assertThat(slots).hasSize(ACROSS_DAYS_LIMIT);
+        assertThat(slots).extracting(AvailableSlotDTO::getDateTime).isSorted();
+        assertThat(slots).extracting(AvailableSlotDTO::getDateTime).doesNotContainAnyElementsOf(reservedDateTimes);
+        assertThat(slots.get(ACROSS_DAYS_LIMIT - 1).getDateTime().toLocalDate()).isAfter(TestHelper.JULY_TWELVE);
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailableOutsideSchedules() {
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE.plusDays(1), TestHelper.JULY_TWELVE.plusDays(1), LIMIT
+        );
+
+        assertThat(slots).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailableSkipsPassedTime() {
+
+        final LocalDateTime now = TestHelper.JULY_TWELVE.atTime(NOW_TIME);
+        setNow(now);
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE.minusDays(1), TestHelper.AUGUST_FIFTEEN, LIMIT
+        );
+
+        assertThat(slots).hasSize(LIMIT);
+        assertThat(slots.get(0).getDateTime()).isEqualTo(now);
+        assertThat(slots).extracting(AvailableSlotDTO::getDateTime).allMatch(dateTime -> !dateTime.isBefore(now));
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailableSkipsInactiveSpecialist() {
+
+        final Specialist specialist = specialistsRepository
+                .findOneByName(TestHelper.SPECIALIST_NAME_FIRST)
+                .orElse(null);
+        specialist.setActive(false);
+        specialistsRepository.saveAndFlush(specialist);
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE, TestHelper.AUGUST_FIFTEEN, ACROSS_DAYS_LIMIT
+        );
+
+        assertThat(slots).isNotEmpty();
+        assertThat(slots).extracting(AvailableSlotDTO::getSpecialistId).doesNotContain(specialist.getId());
+    }
+
+    @Test
+    @Transactional
+    public void testFindFirstAvailableOfInactiveService() {
+
+        service.setActive(false);
+        servicesRepository.saveAndFlush(service);
+
+        final List<AvailableSlotDTO> slots = availabilityService.findFirstAvailable(
+                service.getId(), TestHelper.JULY_TWELVE, TestHelper.AUGUST_FIFTEEN, LIMIT
+        );
+
+        assertThat(slots).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testFindFirstAvailableWithWrongPeriod() {
+        availabilityService.findFirstAvailable(service.getId(), TestHelper.AUGUST_FIFTEEN, TestHelper.JULY_TWELVE, 1);
+    }
+
+    @Test(expected = ServiceNotFoundException.class)
+    @Transactional
+    public void testFindFirstAvailableWithWrongServiceId() {
+        availabilityService.findFirstAvailable(Integer.MIN_VALUE, TestHelper.JULY_TWELVE, TestHelper.JULY_TWELVE, 1);
+    }
+
+    private void setNow(final LocalDateTime now) {
+        final ZoneId zone = ZoneId.systemDefault();
+        availabilityService.setClock(Clock.fixed(now.atZone(zone).toInstant(), zone));
+    }
+}
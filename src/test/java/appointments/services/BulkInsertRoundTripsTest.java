@@ -0,0 +1,156 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.domain.Child;
+import appointments.domain.Reservation;
+import appointments.domain.Schedule;
+import appointments.domain.Service;
+import appointments.domain.Specialist;
+import appointments.repos.ChildrenRepository;
+import appointments.repos.ReservationsRepository;
+import appointments.repos.SchedulesRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Замер количества обращений к базе при массовом создании расписаний и записей на прием.
+ * Идентификаторы выделяются блоками из последовательностей, поэтому Hibernate отправляет вставки пакетами,
+ * и количество подготовленных запросов должно быть намного меньше количества вставленных строк.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class BulkInsertRoundTripsTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2030, Month.JANUARY, 1);
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+    private static final LocalTime END_TIME = LocalTime.of(13, 0);
+    private static final int INTERVAL = 15;
+    private static final int BIRTH_CERTIFICATE = 456845;
+    private static final String SPECIALIST_NAME = "Специалист 1";
+    private static final String SERVICE_NAME = "Получение путевки в ДОО";
+    private static final String ROOM_NUMBER = "25";
+
+    private static final int ROWS = 500;
+    private static final int MAX_STATEMENTS = ROWS / 10;
+
+    private Specialist specialist;
+    private Service service;
+    private Child child;
+    private Statistics statistics;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private SpecialistsRepository specialistsRepository;
+
+    @Autowired
+    private ServicesRepository servicesRepository;
+
+    @Autowired
+    private ChildrenRepository childrenRepository;
+
+    @Autowired
+    private SchedulesRepository schedulesRepository;
+
+    @Autowired
+    private ReservationsRepository reservationsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        specialist = specialistsRepository.findOneByName(SPECIALIST_NAME).orElse(null);
+        service = servicesRepository.findOneByName(SERVICE_NAME).orElse(null);
+        child = childrenRepository.findOneByBirthCertificateNumber(BIRTH_CERTIFICATE).orElse(null);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testBulkSchedulesAndReservationsAreBatched() {
+
+        final List<Schedule> schedules = new ArrayList<>();
+
+        for (int i = 0; i < ROWS; i++) {
+            final List<Service> services = new ArrayList<>();
+            services.add(service);
+            schedules.add(new Schedule(
+                    null, specialist, ROOM_NUMBER, START_DATE.plusDays(i), services,
+                    START_TIME, END_TIME, INTERVAL, null
+            ));
+        }
+
+        final long scheduleStatements = countStatements(() -> schedulesRepository.saveAll(schedules), "schedules");
+
+        final List<Reservation> reservations = new ArrayList<>();
+
+        for (Schedule schedule : schedules) {
+            reservations.add(new Reservation(
+                    null, schedule.getDate().atTime(START_TIME), schedule, service, true, child
+            ));
+        }
+
+        final long reservationStatements = countStatements(
+                () -> reservationsRepository.saveAll(reservations),
+                "reservations"
+        );
+
+        assertThat(schedules).allMatch(schedule -> schedule.getId() != null);
+        assertThat(scheduleStatements).isLessThan(MAX_STATEMENTS);
+        assertThat(reservationStatements).isLessThan(MAX_STATEMENTS);
+    }
+
+    /** Выполняет вставку в отдельной транзакции и возвращает количество подготовленных JDBC-запросов */
+    private long countStatements(final Runnable insert, final String entityName) {
+
+        statistics.clear();
+
+        final long start = System.nanoTime();
+
+        transactionTemplate.execute(status -> {
+            insert.run();
+            return null;
+        });
+
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info(
+                "Bulk insert of {} {}: {} prepared statements, {} entity inserts, {} ms",
+                ROWS, entityName, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(),
+                elapsedMillis
+        );
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,232 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.domain.Child;
+import appointments.domain.Schedule;
+import appointments.domain.Service;
+import appointments.domain.Specialist;
+import appointments.dto.ReservationDTO;
+import appointments.exceptions.ReservationAlreadyExistsException;
+import appointments.repos.ChildrenRepository;
+import appointments.repos.ReservationsRepository;
+import appointments.repos.SchedulesRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Нагрузочный тест записи на прием: несколько потоков одновременно пытаются занять одни и те же интервалы
+ * одного расписания. Методы теста не транзакционные, чтобы каждая запись фиксировалась в базе.
+ *
+ * @author yanchenko_evgeniya
+ */
+@Slf4j
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ReservationsServiceConcurrencyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, Month.AUGUST, 12);
+    private static final int BIRTH_CERTIFICATE = 456845;
+    private static final String SPECIALIST_NAME = "Специалист 1";
+    private static final String SERVICE_NAME = "Получение путевки в ДОО";
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final double NANOS_IN_SECOND = 1_000_000_000d;
+
+    private Service service;
+    private Child child;
+    private Schedule schedule;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private SpecialistsRepository specialistsRepository;
+
+    @Autowired
+    private ServicesRepository servicesRepository;
+
+    @Autowired
+    private ChildrenRepository childrenRepository;
+
+    @Autowired
+    private SchedulesRepository schedulesRepository;
+
+    @Autowired
+    private ReservationsRepository reservationsRepository;
+
+    @Autowired
+    private ReservationsService reservationsService;
+
+    @Autowired
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        service = servicesRepository.findOneByName(SERVICE_NAME).orElse(null);
+        child = childrenRepository.findOneByBirthCertificateNumber(BIRTH_CERTIFICATE).orElse(null);
+        final Specialist specialist = specialistsRepository.findOneByName(SPECIALIST_NAME).orElse(null);
+        schedule = schedulesRepository.findOneBySpecialistAndDate(specialist, DATE).orElse(null);
+    }
+
+    @Test
+    public void testConcurrentReservationsHaveNoDoubleBookings() throws Exception {
+
+        // записи из тестовых данных уже занимают часть интервалов, потоки борются за остальные
+        final List<LocalDateTime> reservedBefore = reservationsRepository.findDateTimesByScheduleId(schedule.getId());
+        final List<LocalDateTime> slots = getScheduleSlots();
+        slots.removeAll(reservedBefore);
+        final AtomicInteger booked = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    final List<LocalDateTime> order = new ArrayList<>(slots);
+                    Collections.shuffle(order);
+                    for (LocalDateTime dateTime : order) {
+                        try {
+                            reservationsService.addReservation(createReservationDTO(dateTime));
+                            booked.incrementAndGet();
+                        } catch (ReservationAlreadyExistsException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        final long start = System.nanoTime();
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        final long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        final int attempts = THREADS * ROUNDS * slots.size();
+        log.info(
+                "Booking stress test: {} attempts, {} booked, {} rejected, {} attempts/s",
+                attempts, booked.get(), rejected.get(), Math.round(attempts * NANOS_IN_SECOND / elapsed)
+        );
+
+        final List<LocalDateTime> reservedTimes = reservationsRepository.findDateTimesByScheduleId(schedule.getId());
+
+        // каждый свободный интервал занят ровно одной записью, и каждая успешная запись сохранена в базе
+        assertThat(booked.get() + rejected.get()).isEqualTo(attempts);
+        assertThat(booked.get()).isEqualTo(slots.size());
+        assertThat(reservedTimes).hasSize(reservedBefore.size() + slots.size()).containsAll(slots);
+    }
+
+    @Test
+    public void testOccupancyIsNotLostWhenLoadedConcurrentlyWithBooking() throws Exception {
+
+        for (int round = 0; round < ROUNDS; round++) {
+
+            if (round > 0) {
+                setUp();
+            }
+
+            final Schedule loaded = schedule;
+            final List<LocalDateTime> slots = getScheduleSlots();
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            final List<Future<?>> futures = new ArrayList<>();
+
+            occupancyIndex.evict(schedule.getId());
+
+            for (int i = 0; i < THREADS; i++) {
+
+                final int thread = i;
+
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    if (thread % 2 == 0) {
+                        // маска расписания строится по базе одновременно с записью на прием
+                        occupancyIndex.getFreeSlots(loaded.getId(), () -> loaded);
+                        return null;
+                    }
+                    for (int slot = thread; slot < slots.size(); slot += THREADS) {
+                        try {
+                            reservationsService.addReservation(createReservationDTO(slots.get(slot)));
+                        } catch (ReservationAlreadyExistsException e) {
+                            log.debug("Slot {} is already reserved", slots.get(slot));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            final List<LocalDateTime> reservedTimes = reservationsRepository.findDateTimesByScheduleId(
+                    schedule.getId()
+            );
+
+            assertThat(occupancyIndex.getFreeSlots(schedule.getId(), () -> loaded).getFreeSlots())
+                    .doesNotContainAnyElementsOf(reservedTimes);
+        }
+    }
+
+    private List<LocalDateTime> getScheduleSlots() {
+
+        final List<LocalDateTime> slots = new ArrayList<>();
+
+        for (LocalTime time = schedule.getStartTime();
+             !time.isAfter(schedule.getEndTime());
+             time = time.plusMinutes(schedule.getIntervalOfReception())) {
+            slots.add(LocalDateTime.of(DATE, time));
+        }
+        return slots;
+    }
+
+    private ReservationDTO createReservationDTO(LocalDateTime dateTime) {
+
+        return new ReservationDTO(
+                null,
+                dateTime,
+                schedule.getId(),
+                service.getId(),
+                true,
+                child.getId()
+        );
+    }
+}
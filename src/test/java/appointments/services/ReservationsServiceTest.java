@@ -1,14 +1,19 @@
 package appointments.services;
 
 import appointments.TestHelper;
+import appointments.config.SqlStatisticsListener;
 import appointments.domain.Child;
+import appointments.domain.Reservation;
 import appointments.domain.Schedule;
 import appointments.domain.Service;
 import appointments.domain.Specialist;
+import appointments.dto.CursorPageDTO;
+import appointments.dto.FreeSlotsDTO;
 import appointments.dto.ReservationDTO;
 import appointments.exceptions.ReservationAlreadyExistsException;
 import appointments.exceptions.ReservationNotFoundException;
 import appointments.repos.ChildrenRepository;
+import appointments.repos.ReservationsRepository;
 import appointments.repos.SchedulesRepository;
 import appointments.repos.ServicesRepository;
 import appointments.repos.SpecialistsRepository;
@@ -17,14 +22,22 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -68,6 +81,18 @@ public class ReservationsServiceTest {
     @Autowired
     private ReservationsService reservationsService;
 
+    @Autowired
+    private SchedulesService schedulesService;
+
+    @Autowired
+    private ReservationsRepository reservationsRepository;
+
+    @Autowired
+    private SqlStatisticsListener sqlStatisticsListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Before
     public void setUp() {
 
@@ -87,6 +112,16 @@ public class ReservationsServiceTest {
         assertThat(reservationsByDate).hasSize(expectedListSize);
     }
 
+    @Test
+    @Transactional
+    public void testFindReservationByDateWithoutSchedules() {
+        final int daysToAdd = 1;
+        final List<ReservationDTO> reservationsByDate
+                = reservationsService.findReservationByDate(DATE.plusDays(daysToAdd));
+
+        assertThat(reservationsByDate).isEmpty();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     @Transactional
     public void testFindReservationByDateWithNullDate() {
@@ -170,7 +205,7 @@ public class ReservationsServiceTest {
     @Transactional
     public void testAddReservation() {
 
-        final int expectedSize = reservationsService.getReservations(null, null, null).size() + 1;
+        final int expectedSize = getAllReservations().size() + 1;
 
         final long id = reservationsService
                 .addReservation(
@@ -184,7 +219,7 @@ public class ReservationsServiceTest {
                         )
                 ).getId();
 
-        final int actualSize = reservationsService.getReservations(null, null, null).size();
+        final int actualSize = getAllReservations().size();
         final ReservationDTO testReservationDTO = new ReservationDTO(
                 id,
                 DATE_TIME,
@@ -194,7 +229,7 @@ public class ReservationsServiceTest {
                 child.getId()
         );
 
-        assertThat(reservationsService.getReservations(null, null, null)).contains(testReservationDTO);
+        assertThat(getAllReservations()).contains(testReservationDTO);
         assertThat(expectedSize).isEqualTo(actualSize);
     }
 
@@ -245,7 +280,7 @@ public class ReservationsServiceTest {
     public void testAddReservationWithAlreadyExistedTime() {
 
         final int reservedHour = 9;
-        final int reservedMinutes = 20;
+        final int reservedMinutes = 15;
 
         LocalDateTime existedDateTime = LocalDateTime.of(YEAR, MONTH, DAY, reservedHour, reservedMinutes);
 
@@ -261,10 +296,154 @@ public class ReservationsServiceTest {
         );
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testAddReservationBetweenReceptionIntervals() {
+
+        final int hour = 10;
+        final int minutesBetweenIntervals = 20;
+        final LocalDateTime offGridDateTime = LocalDateTime.of(YEAR, MONTH, DAY, hour, minutesBetweenIntervals);
+
+        reservationsService.addReservation(
+                new ReservationDTO(
+                        null,
+                        offGridDateTime,
+                        schedule.getId(),
+                        service.getId(),
+                        true,
+                        child.getId()
+                )
+        );
+    }
+
+    @Test(expected = ReservationAlreadyExistsException.class)
+    @Transactional
+    public void testAddReservationTwiceAtSameTime() {
+
+        final ReservationDTO reservationDTO = new ReservationDTO(
+                null,
+                DATE_TIME,
+                schedule.getId(),
+                service.getId(),
+                true,
+                child.getId()
+        );
+
+        reservationsService.addReservation(reservationDTO);
+        reservationsService.addReservation(reservationDTO);
+    }
+
+    @Test
+    @Transactional
+    public void testFreeSlotsChangeAfterReservation() {
+
+        final FreeSlotsDTO freeSlotsBefore = schedulesService.getFreeSlots(schedule.getId());
+
+        reservationsService.addReservation(
+                new ReservationDTO(
+                        null,
+                        DATE_TIME,
+                        schedule.getId(),
+                        service.getId(),
+                        true,
+                        child.getId()
+                )
+        );
+
+        final FreeSlotsDTO freeSlotsAfter = schedulesService.getFreeSlots(schedule.getId());
+
+        assertThat(freeSlotsBefore.getFreeSlots()).contains(DATE_TIME);
+        assertThat(freeSlotsAfter.getFreeSlots()).doesNotContain(DATE_TIME);
+        assertThat(freeSlotsAfter.getFreeSlots()).hasSize(freeSlotsBefore.getFreeSlots().size() - 1);
+        assertThat(freeSlotsAfter.getVersion()).isNotEqualTo(freeSlotsBefore.getVersion());
+    }
+
     @Test
     @Transactional
     public void testGetReservations() {
-        assertThat(reservationsService.getReservations(null, null, null)).isNotNull().isNotEmpty();
+        assertThat(reservationsService.getReservations(schedule.getDate(), null, null)).isNotNull().isNotEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testGetReservationsWithoutDateParameters() {
+        reservationsService.getReservations(null, null, null);
+    }
+
+    @Test
+    @Transactional
+    public void testExportReservations() {
+
+        final List<ReservationDTO> exportedReservations = new ArrayList<>();
+
+        reservationsService.exportReservations(exportedReservations::add);
+
+        assertThat(exportedReservations)
+                .extracting(ReservationDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(
+                        reservationsRepository.findAll().stream().map(Reservation::getId).collect(Collectors.toList())
+                );
+    }
+
+    @Test
+    @Transactional
+    public void testGetReservationsAfterCursor() {
+
+        final int pageSize = 2;
+        final List<ReservationDTO> pagedReservations = new ArrayList<>();
+
+        CursorPageDTO<ReservationDTO> page = reservationsService.getReservationsAfter(null, pageSize);
+        pagedReservations.addAll(page.getContent());
+
+        while (page.getNextCursor() != null) {
+            assertThat(page.getContent()).hasSize(pageSize);
+            page = reservationsService.getReservationsAfter(page.getNextCursor(), pageSize);
+            pagedReservations.addAll(page.getContent());
+        }
+
+        final List<ReservationDTO> allReservations = getAllReservations();
+        allReservations.sort(Comparator.comparing(ReservationDTO::getDateTime).thenComparing(ReservationDTO::getId));
+
+        assertThat(pagedReservations).containsExactlyElementsOf(allReservations);
+    }
+
+    @Test
+    @Transactional
+    public void testGetReservationsAfterCursorReadsIndexRange() {
+
+        final List<ReservationDTO> allReservations = getAllReservations();
+        allReservations.sort(Comparator.comparing(ReservationDTO::getDateTime).thenComparing(ReservationDTO::getId));
+        final ReservationDTO last = allReservations.get(allReservations.size() - 1);
+
+        sqlStatisticsListener.start();
+        reservationsRepository.findAllAsDTOAfterKey(last.getDateTime(), last.getId(), PageRequest.of(0, 1));
+        final Set<String> statements = sqlStatisticsListener.stop().getIdenticalStatements().keySet();
+
+        assertThat(statements).hasSize(1);
+
+        // параметры подставляются в порядке их следования в запросе: dateTime, dateTime, id, limit
+        final String dateTime = "TIMESTAMP '" + Timestamp.valueOf(last.getDateTime()) + "'";
+        String sql = statements.iterator().next();
+
+        for (String parameter : new String[]{dateTime, dateTime, last.getId().toString(), "1"}) {
+            sql = sql.replaceFirst("\\?", Matcher.quoteReplacement(parameter));
+        }
+
+        // страница после курсора должна читаться с места курсора по индексу, а не с начала индекса
+        assertThat(jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class))
+                .containsPattern("(?i)RESERVATIONS_DATE_TIME_ID_IDX: \"?DATE_TIME\"? >=");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testGetReservationsAfterWrongCursor() {
+        reservationsService.getReservationsAfter("wrong cursor", 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testGetReservationsAfterCursorWithWrongSize() {
+        reservationsService.getReservationsAfter(null, 0);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -284,4 +463,11 @@ public class ReservationsServiceTest {
     public void testGetReservationsWithWrongDateParametersThree() {
         reservationsService.getReservations(DATE, null, DATE);
     }
-}
\ No newline at end of file
+
+    private List<ReservationDTO> getAllReservations() {
+
+        final List<ReservationDTO> reservations = new ArrayList<>();
+        reservationsService.exportReservations(reservations::add);
+        return reservations;
+    }
+}
@@ -0,0 +1,197 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.domain.Schedule;
+import appointments.domain.Specialist;
+import appointments.dto.ScheduleMaterializationDTO;
+import appointments.dto.ScheduleTemplateDTO;
+import appointments.dto.ServiceSimpleDTO;
+import appointments.dto.SpecialistSimpleDTO;
+import appointments.exceptions.ScheduleTemplateNotFoundException;
+import appointments.repos.SchedulesRepository;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ScheduleTemplatesServiceTest {
+
+    private static final LocalDate START_DATE = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+    private static final LocalTime END_TIME = LocalTime.of(13, 0);
+    private static final LocalTime EVENING_END_TIME = LocalTime.of(18, 0);
+    private static final Integer INTERVAL = 15;
+    private static final String SPECIALIST_NAME = "Специалист 1";
+    private static final String ROOM_NUMBER = "25";
+    private static final int WEEKS = 2;
+
+    private Specialist specialist;
+    private List<ServiceSimpleDTO> serviceSimpleDTOs;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private SpecialistsRepository specialistsRepository;
+
+    @Autowired
+    private ServicesRepository servicesRepository;
+
+    @Autowired
+    private SchedulesRepository schedulesRepository;
+
+    @Autowired
+    private ScheduleTemplatesService scheduleTemplatesService;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        specialist = specialistsRepository.findOneByName(SPECIALIST_NAME).orElse(null);
+        serviceSimpleDTOs = servicesRepository
+                .findAll()
+                .stream()
+                .map(service -> new ServiceSimpleDTO(service.getId(), service.getName()))
+                .collect(toList());
+    }
+
+    @Test
+    @Transactional
+    public void testAddTemplate() {
+
+        final ScheduleTemplateDTO savedTemplate = scheduleTemplatesService.addTemplate(createTemplateDTO());
+
+        assertThat(savedTemplate.getId()).isNotNull();
+        assertThat(scheduleTemplatesService.getTemplates()).extracting(ScheduleTemplateDTO::getId)
+                .contains(savedTemplate.getId());
+    }
+
+    @Test
+    @Transactional
+    public void testMaterializeSchedules() {
+
+        final int expectedSchedules = 4;
+
+        scheduleTemplatesService.addTemplate(createTemplateDTO());
+
+        final ScheduleMaterializationDTO result = scheduleTemplatesService.materializeSchedules(START_DATE, WEEKS);
+
+        assertThat(result.getCreatedSchedules()).isEqualTo(expectedSchedules);
+        assertThat(result.getEndDate()).isEqualTo(START_DATE.plusWeeks(WEEKS).minusDays(1));
+
+        for (LocalDate date : new LocalDate[]{START_DATE, START_DATE.plusDays(2), START_DATE.plusWeeks(1)}) {
+
+            final Optional<Schedule> schedule = schedulesRepository.findOneBySpecialistAndDate(specialist, date);
+
+            assertThat(schedule).isPresent();
+            assertThat(schedule.get().getServices()).hasSameSizeAs(serviceSimpleDTOs);
+            assertThat(schedule.get().getStartTime()).isEqualTo(START_TIME);
+        }
+
+        assertThat(schedulesRepository.findOneBySpecialistAndDate(specialist, START_DATE.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void testMaterializeSchedulesTwice() {
+
+        scheduleTemplatesService.addTemplate(createTemplateDTO());
+        scheduleTemplatesService.materializeSchedules(START_DATE, WEEKS);
+
+        assertThat(scheduleTemplatesService.materializeSchedules(START_DATE, WEEKS).getCreatedSchedules()).isZero();
+    }
+
+    @Test
+    @Transactional
+    public void testMaterializeSchedulesWithSeveralShiftsPerDay() {
+
+        final int expectedSchedules = 8;
+
+        scheduleTemplatesService.addTemplate(createTemplateDTO());
+        scheduleTemplatesService.addTemplate(createTemplateDTO(END_TIME, EVENING_END_TIME));
+
+        final ScheduleMaterializationDTO result = scheduleTemplatesService.materializeSchedules(START_DATE, WEEKS);
+
+        assertThat(result.getCreatedSchedules()).isEqualTo(expectedSchedules);
+        assertThat(result.getSkippedSchedules()).isZero();
+        assertThat(schedulesRepository.findAll())
+                .filteredOn(s -> s.getSpecialist().getId().equals(specialist.getId())
+                        && s.getDate().equals(START_DATE))
+                .extracting(Schedule::getStartTime)
+                .containsExactlyInAnyOrder(START_TIME, END_TIME);
+    }
+
+    @Test
+    @Transactional
+    public void testMaterializeSchedulesWithOverlappingTemplates() {
+
+        final int expectedSchedules = 4;
+
+        scheduleTemplatesService.addTemplate(createTemplateDTO());
+        scheduleTemplatesService.addTemplate(createTemplateDTO(START_TIME.plusHours(1), EVENING_END_TIME));
+
+        final ScheduleMaterializationDTO result = scheduleTemplatesService.materializeSchedules(START_DATE, WEEKS);
+
+        assertThat(result.getCreatedSchedules()).isEqualTo(expectedSchedules);
+        assertThat(result.getSkippedSchedules()).isEqualTo(expectedSchedules);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testMaterializeSchedulesInPast() {
+        scheduleTemplatesService.materializeSchedules(LocalDate.now().minusDays(1), WEEKS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testMaterializeSchedulesWithWrongWeeks() {
+        scheduleTemplatesService.materializeSchedules(START_DATE, 0);
+    }
+
+    @Test(expected = ScheduleTemplateNotFoundException.class)
+    @Transactional
+    public void testRemoveTemplateWithWrongId() {
+        scheduleTemplatesService.removeTemplate(Integer.MIN_VALUE);
+    }
+
+    private ScheduleTemplateDTO createTemplateDTO() {
+        return createTemplateDTO(START_TIME, END_TIME);
+    }
+
+    private ScheduleTemplateDTO createTemplateDTO(final LocalTime startTime, final LocalTime endTime) {
+
+        return new ScheduleTemplateDTO(
+                null,
+                new SpecialistSimpleDTO(specialist.getId(), specialist.getName()),
+                ROOM_NUMBER,
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY),
+                serviceSimpleDTOs,
+                startTime,
+                endTime,
+                INTERVAL
+        );
+    }
+}
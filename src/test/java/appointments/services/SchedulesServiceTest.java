@@ -5,14 +5,18 @@ import appointments.domain.Reservation;
 import appointments.domain.Schedule;
 import appointments.domain.Service;
 import appointments.domain.Specialist;
+import appointments.dto.CursorPageDTO;
+import appointments.dto.FreeSlotsDTO;
 import appointments.dto.ScheduleDTO;
 import appointments.dto.ServiceSimpleDTO;
 import appointments.dto.SpecialistSimpleDTO;
 import appointments.exceptions.EntityDependencyException;
 import appointments.exceptions.ScheduleNotFoundException;
 import appointments.repos.ReservationsRepository;
+import appointments.repos.SchedulesRepository;
 import appointments.repos.ServicesRepository;
 import appointments.repos.SpecialistsRepository;
+import appointments.utils.CursorUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +50,8 @@ public class SchedulesServiceTest {
     private static final LocalDate ANOTHER_DATE = LocalDate.of(YEAR, Month.AUGUST, 15);
     private static final LocalTime START_TIME = LocalTime.of(9, 0);
     private static final LocalTime END_TIME = LocalTime.of(13, 0);
+    private static final LocalTime EVENING_START_TIME = LocalTime.of(19, 0);
+    private static final LocalTime EVENING_END_TIME = LocalTime.of(21, 0);
     private static final Integer INTERVAL = 15;
     private static final ArrayList<Long> RESERVATION_IDS = new ArrayList<>();
     private static final String SPECIALIST_NAME = "Специалист 1";
@@ -73,6 +79,9 @@ public class SchedulesServiceTest {
     @Autowired
     private ReservationsRepository reservationsRepository;
 
+    @Autowired
+    private SchedulesRepository schedulesRepository;
+
     @Before
     public void setUp() {
 
@@ -295,4 +304,60 @@ public class SchedulesServiceTest {
         assertThat(schedulesService.getSchedules(PAGE_REQUEST, ANOTHER_DATE)).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional
+    public void testGetSchedulesAfterCursor() {
+
+        final Schedule secondSchedule = schedulesRepository.save(
+                new Schedule(
+                        null,
+                        specialist,
+                        ROOM_NUMBER,
+                        ANOTHER_DATE,
+                        services,
+                        EVENING_START_TIME,
+                        EVENING_END_TIME,
+                        INTERVAL,
+                        new ArrayList<>()
+                )
+        );
+
+        final CursorPageDTO<ScheduleDTO> firstPage = schedulesService.getSchedulesAfter(ANOTHER_DATE, null, 1);
+
+        assertThat(firstPage.getContent()).hasSize(1);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        final CursorPageDTO<ScheduleDTO> secondPage
+                = schedulesService.getSchedulesAfter(ANOTHER_DATE, firstPage.getNextCursor(), 1);
+
+        assertThat(secondPage.getContent()).extracting(ScheduleDTO::getId).containsExactly(secondSchedule.getId());
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testGetSchedulesAfterCursorOfAnotherDate() {
+
+        final String cursorOfAnotherDate = CursorUtils.encode(DATE, START_TIME, Long.MAX_VALUE);
+
+        schedulesService.getSchedulesAfter(ANOTHER_DATE, cursorOfAnotherDate, 1);
+    }
+
+    @Test
+    @Transactional
+    public void testGetFreeSlotsByDate() {
+
+        final List<FreeSlotsDTO> freeSlots = schedulesService.getFreeSlotsByDate(ANOTHER_DATE);
+
+        assertThat(freeSlots).hasSize(1);
+        assertThat(freeSlots.get(0).getFreeSlots())
+                .isNotEmpty()
+                .allSatisfy(dateTime -> assertThat(dateTime.toLocalDate()).isEqualTo(ANOTHER_DATE));
+    }
+
+    @Test(expected = ScheduleNotFoundException.class)
+    @Transactional
+    public void testGetFreeSlotsWithWrongId() {
+        schedulesService.getFreeSlots(Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,124 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.domain.Service;
+import appointments.domain.Specialist;
+import appointments.dto.CacheRegionStatisticsDTO;
+import appointments.dto.CacheStatisticsDTO;
+import appointments.dto.SpecialistDTO;
+import appointments.repos.ServicesRepository;
+import appointments.repos.SpecialistsRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты кэша второго уровня для справочников. Методы теста не транзакционные,
+ * чтобы каждое обращение к репозиторию шло в новой сессии и читало сущности из общего кэша.
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    private static final String SERVICE_NAME = "Получение путевки в ДОО";
+    private static final String SPECIALIST_NAME = "Специалист 1";
+    private static final String SERVICE_REGION = Service.class.getName();
+
+    private Service service;
+    private Specialist specialist;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private ServicesRepository servicesRepository;
+
+    @Autowired
+    private SpecialistsRepository specialistsRepository;
+
+    @Autowired
+    private ServicesService servicesService;
+
+    @Autowired
+    private SpecialistsService specialistsService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+        service = servicesRepository.findOneByName(SERVICE_NAME).orElse(null);
+        specialist = specialistsRepository.findOneByName(SPECIALIST_NAME).orElse(null);
+    }
+
+    @Test
+    public void testServiceIsReadFromCache() {
+
+        final long hitsBefore = getServiceRegionHits(cacheStatisticsService.getCacheStatistics());
+
+        servicesRepository.findById(service.getId());
+        servicesRepository.findById(service.getId());
+
+        assertThat(getServiceRegionHits(cacheStatisticsService.getCacheStatistics())).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    public void testDeactivatedServiceIsNotStaleInCache() {
+
+        servicesRepository.findById(service.getId());
+        servicesService.changeActiveState(service.getId(), false);
+
+        assertThat(servicesRepository.findById(service.getId()).get().isActive()).isFalse();
+        assertThat(servicesService.getActiveServices()).doesNotContain(service);
+    }
+
+    @Test
+    public void testDeactivatedSpecialistIsNotStaleInQueryCache() {
+
+        assertThat(specialistsService.getActiveSpecialists())
+                .extracting(SpecialistDTO::getId)
+                .contains(specialist.getId());
+
+        specialistsService.changeActiveState(specialist.getId(), false);
+
+        assertThat(specialistsService.getActiveSpecialists())
+                .extracting(SpecialistDTO::getId)
+                .doesNotContain(specialist.getId());
+        assertThat(specialistsService.findSpecialistById(specialist.getId()).isActive()).isFalse();
+    }
+
+    @Test
+    public void testActiveSpecialistsAreReadFromQueryCache() {
+
+        specialistsService.getActiveSpecialists();
+
+        final long hitsBefore = cacheStatisticsService.getCacheStatistics().getQueryCacheHitCount();
+
+        specialistsService.getActiveSpecialists();
+
+        assertThat(cacheStatisticsService.getCacheStatistics().getQueryCacheHitCount()).isGreaterThan(hitsBefore);
+    }
+
+    private static long getServiceRegionHits(final CacheStatisticsDTO statistics) {
+
+        return statistics
+                .getRegions()
+                .stream()
+                .filter(region -> SERVICE_REGION.equals(region.getRegion()))
+                .findFirst()
+                .map(CacheRegionStatisticsDTO::getHitCount)
+                .orElse(0L);
+    }
+}
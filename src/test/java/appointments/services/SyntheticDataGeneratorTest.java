@@ -0,0 +1,162 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.config.SyntheticDataGenerator;
+import appointments.config.SyntheticDataProperties;
+import appointments.domain.Child;
+import appointments.repos.ChildrenRepository;
+import appointments.repos.SyntheticDataRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты генератора синтетических данных на H2: строки записываются пакетами JDBC,
+ * после чего данные должны быть согласованы между собой и не мешать созданию сущностей через Hibernate
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SyntheticDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, Month.MARCH, 1);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, Month.JANUARY, 1);
+    private static final int CHILDREN = 200;
+    private static final int SPECIALISTS = 2;
+    private static final int BATCH_SIZE = 64;
+
+    /** Количество детей, сохраняемых через Hibernate после генерации: больше одного блока идентификаторов */
+    private static final int SAVED_CHILDREN = 60;
+    private static final int BIRTH_CERTIFICATE = 654321;
+
+    private SyntheticDataProperties properties;
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private SyntheticDataRepository repository;
+
+    @Autowired
+    private ChildrenRepository childrenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ServiceScheduleIndex serviceScheduleIndex;
+
+    @Autowired
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    @Autowired
+    private ReferenceResponseCache referenceResponseCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Before
+    public void setUp() {
+
+        testHelper.refill();
+
+        properties = new SyntheticDataProperties();
+        properties.setChildren(CHILDREN);
+        properties.setSpecialists(SPECIALISTS);
+        properties.setYearsBack(0);
+        properties.setYearsAhead(0);
+        properties.setBatchSize(BATCH_SIZE);
+
+        generator = new SyntheticDataGenerator(
+                properties, repository, entityManagerFactory,
+                serviceScheduleIndex, occupancyIndex, referenceResponseCache, resourceVersions
+        );
+    }
+
+    @After
+    public void tearDown() {
+        testHelper.refill();
+    }
+
+    @Test
+    public void testGeneratedRowsAreConsistent() {
+
+        final long childrenBefore = count("SELECT COUNT(*) FROM children");
+        final long specialistsBefore = count("SELECT COUNT(*) FROM specialists");
+
+        generator.generate(TODAY);
+
+        assertThat(count("SELECT COUNT(*) FROM children") - childrenBefore).isEqualTo(CHILDREN);
+        assertThat(count("SELECT COUNT(*) FROM specialists") - specialistsBefore).isEqualTo(SPECIALISTS);
+
+        final List<LocalDate> dates = jdbcTemplate.queryForList(
+                "SELECT s.date FROM schedules s WHERE s.date >= ?", LocalDate.class, FIRST_DAY
+        );
+
+        assertThat(dates).isNotEmpty();
+        assertThat(dates).allMatch(date -> !date.isAfter(TODAY));
+        assertThat(dates).noneMatch(date -> date.getDayOfWeek() == DayOfWeek.SATURDAY
+                || date.getDayOfWeek() == DayOfWeek.SUNDAY);
+
+        assertThat(count("SELECT COUNT(*) FROM reservations r JOIN schedules s ON s.id = r.schedule_id"
+                + " WHERE s.date >= ?", FIRST_DAY)).isPositive();
+        assertThat(count("SELECT COUNT(*) FROM schedules s WHERE s.date >= ?"
+                + " AND NOT EXISTS (SELECT 1 FROM services_schedules ss WHERE ss.schedule_id = s.id)", FIRST_DAY))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM reservations r JOIN schedules s ON s.id = r.schedule_id"
+                + " WHERE s.date >= ? AND (CAST(r.date_time AS DATE) <> s.date"
+                + " OR CAST(r.date_time AS TIME) < s.start_time"
+                + " OR CAST(r.date_time AS TIME) >= s.end_time)", FIRST_DAY))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM reservations r JOIN schedules s ON s.id = r.schedule_id"
+                + " WHERE s.date >= ? AND NOT EXISTS (SELECT 1 FROM services_schedules ss"
+                + " WHERE ss.schedule_id = r.schedule_id AND ss.service_id = r.service_id)", FIRST_DAY))
+                .isZero();
+    }
+
+    @Test
+    public void testHibernateIdsDoNotOverlapGeneratedRows() {
+
+        generator.generate(TODAY);
+
+        final List<Child> children = new ArrayList<>();
+
+        for (int i = 0; i < SAVED_CHILDREN; i++) {
+            children.add(new Child(
+                    null, "II-ЛТ", BIRTH_CERTIFICATE, "+7(910)1234567", "child@example.com", "Фамилия", "Имя", null
+            ));
+        }
+
+        childrenRepository.saveAll(children);
+
+        assertThat(count("SELECT COUNT(*) FROM children WHERE birth_certificate_number = ?", BIRTH_CERTIFICATE))
+                .isEqualTo(SAVED_CHILDREN);
+        assertThat(count("SELECT COUNT(DISTINCT id) FROM children")).isEqualTo(count("SELECT COUNT(*) FROM children"));
+    }
+
+    private long count(final String sql, final Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,109 @@
+package appointments.services;
+
+import appointments.TestHelper;
+import appointments.dto.UserDTO;
+import appointments.exceptions.UserAlreadyExistsException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Тесты пользователей и кэша учетных записей. Методы теста не транзакционные,
+ * чтобы новые пользователи фиксировались в базе, а аутентификация шла так же, как при входе через форму.
+ *
+ * @author yanchenko_evgeniya
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class UsersServiceTest {
+
+    private static final String EXISTING_USERNAME = "admin";
+    private static final String EXISTING_PASSWORD = "100";
+    private static final String NEW_USERNAME = "new_user";
+    private static final String NEW_PASSWORD = "new_password";
+
+    @Autowired
+    private TestHelper testHelper;
+
+    @Autowired
+    private UsersService usersService;
+
+    @Autowired
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+        testHelper.refill();
+    }
+
+    @Test
+    public void testAddUser() {
+
+        usersService.addUser(createUserDTO(NEW_USERNAME));
+
+        final UserDTO foundUser = usersService.findByUserName(NEW_USERNAME);
+
+        assertThat(foundUser.getUsername()).isEqualTo(NEW_USERNAME);
+        assertThat(foundUser.getRoleName()).isNotEmpty();
+    }
+
+    @Test(expected = UserAlreadyExistsException.class)
+    public void testAddUserWithExistingUsername() {
+        usersService.addUser(createUserDTO(EXISTING_USERNAME));
+    }
+
+    @Test
+    public void testRepeatedAuthenticationUsesUserCache() {
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        final Authentication first = authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(EXISTING_USERNAME, EXISTING_PASSWORD)
+        );
+        // так поступает ProviderManager после успешной аутентификации
+        CredentialsContainer.class.cast(first.getPrincipal()).eraseCredentials();
+
+        final long statementsBefore = statistics.getPrepareStatementCount();
+
+        final Authentication second = authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(EXISTING_USERNAME, EXISTING_PASSWORD)
+        );
+
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+    }
+
+    private UserDTO createUserDTO(final String username) {
+
+        return new UserDTO(
+                null,
+                username,
+                NEW_PASSWORD,
+                NEW_PASSWORD,
+                "Ivan",
+                "Petrov",
+                "ivan@gmail.com",
+                "+79202222222",
+                null
+        );
+    }
+}